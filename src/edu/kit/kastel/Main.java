@@ -2,6 +2,7 @@
 
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.ui.CommandHandler;
+import edu.kit.kastel.ui.OutputSink;
 
 /**
  * Main class of the program.
@@ -10,7 +11,9 @@
  * @version 1.0
  */
 public final class Main {
-    
+    private static final String BATCH_ARGUMENT = "--batch";
+    private static final int COMMANDS_PER_BATCH = 1024;
+
     private Main() {
         throw new UnsupportedOperationException("This class cannot be instantiated!");
     }
@@ -18,11 +21,16 @@ private Main() {
     /**
      * Main entry point of the program.
      *
-     * @param args ignored
+     * @param args {@value #BATCH_ARGUMENT} to write the output in batches of commands, other arguments are ignored
      */
     public static void main(String[] args) {
-        Procrastinot procrastinot = new Procrastinot();
-        CommandHandler commandHandler = new CommandHandler(procrastinot);
+        boolean batch = false;
+        for (String arg : args) {
+            batch |= arg.equals(BATCH_ARGUMENT);
+        }
+        OutputSink output = new OutputSink(System.out, System.err, batch ? COMMANDS_PER_BATCH : 1);
+        Procrastinot procrastinot = new Procrastinot(output.out());
+        CommandHandler commandHandler = new CommandHandler(procrastinot, output);
         commandHandler.handleUserInput();
     }
 }
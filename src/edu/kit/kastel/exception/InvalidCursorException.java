@@ -0,0 +1,21 @@
+package edu.kit.kastel.exception;
+
+/**
+ * Exception thrown when a cursor does not point to a result of the query it is used with.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+public class InvalidCursorException extends Exception {
+    private static final String MESSAGE = "Given cursor %d:%d does not point to a result of the query.";
+
+    /**
+     * Instantiates a new invalid cursor exception.
+     *
+     * @param taskId the ID of the task the cursor points to
+     * @param line the line of the task the cursor points to
+     */
+    public InvalidCursorException(int taskId, int line) {
+        super(MESSAGE.formatted(taskId, line));
+    }
+}
@@ -0,0 +1,121 @@
+package edu.kit.kastel.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An index of all tasks with a due date, ordered by the due date.
+ * Visible and deleted tasks are kept apart, so deleted tasks only take part in the queries that still need them.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class DueDateIndex {
+    private final NavigableMap<LocalDate, Set<Task>> visible = new TreeMap<>();
+    private final NavigableMap<LocalDate, Set<Task>> deleted = new TreeMap<>();
+
+    /**
+     * Adds the given task with the given due date.
+     *
+     * @param task the task to add
+     * @param date the due date of the task, may be null
+     */
+    void add(Task task, LocalDate date) {
+        if (date != null) {
+            mapOf(task).computeIfAbsent(date, d -> new HashSet<>()).add(task);
+        }
+    }
+
+    /**
+     * Removes the given task with the given due date.
+     *
+     * @param task the task to remove
+     * @param date the due date the task was indexed with, may be null
+     */
+    void remove(Task task, LocalDate date) {
+        if (date != null) {
+            remove(mapOf(task), task, date);
+        }
+    }
+
+    /**
+     * Moves the given task, which has just been deleted, to the deleted tasks.
+     *
+     * @param task the deleted task
+     */
+    void markDeleted(Task task) {
+        if (task.getDate() != null) {
+            remove(visible, task, task.getDate());
+            deleted.computeIfAbsent(task.getDate(), d -> new HashSet<>()).add(task);
+        }
+    }
+
+    /**
+     * Moves the given task, which has just been restored, to the visible tasks.
+     *
+     * @param task the restored task
+     */
+    void markRestored(Task task) {
+        if (task.getDate() != null) {
+            remove(deleted, task, task.getDate());
+            visible.computeIfAbsent(task.getDate(), d -> new HashSet<>()).add(task);
+        }
+    }
+
+    /**
+     * Returns all visible and deleted tasks due between the given dates, both inclusive.
+     *
+     * @param from the first date, or null for no lower bound
+     * @param to the last date
+     * @return all tasks due between the given dates
+     */
+    List<Task> between(LocalDate from, LocalDate to) {
+        List<Task> result = new ArrayList<>();
+        collect(visible, from, to, result);
+        collect(deleted, from, to, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of visible tasks due between the given dates, both inclusive.
+     *
+     * @param from the first date, or null for no lower bound
+     * @param to the last date
+     * @return the number of visible tasks due between the given dates
+     */
+    int countVisible(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (Set<Task> tasks : window(visible, from, to).values()) {
+            count += tasks.size();
+        }
+        return count;
+    }
+
+    private NavigableMap<LocalDate, Set<Task>> mapOf(Task task) {
+        return task.isVisible() ? visible : deleted;
+    }
+
+    private static void remove(NavigableMap<LocalDate, Set<Task>> map, Task task, LocalDate date) {
+        Set<Task> tasks = map.get(date);
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            map.remove(date);
+        }
+    }
+
+    private static void collect(NavigableMap<LocalDate, Set<Task>> map, LocalDate from, LocalDate to,
+                                List<Task> result) {
+        for (Set<Task> tasks : window(map, from, to).values()) {
+            result.addAll(tasks);
+        }
+    }
+
+    private static NavigableMap<LocalDate, Set<Task>> window(NavigableMap<LocalDate, Set<Task>> map, LocalDate from,
+                                                             LocalDate to) {
+        return from == null ? map.headMap(to, true) : map.subMap(from, true, to, true);
+    }
+}
@@ -0,0 +1,157 @@
+package edu.kit.kastel.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the duplicate groups of all visible tasks up to date while the model changes.
+ * Two tasks are duplicates if their names are equal and either one of them has no date or both dates are equal.
+ * Names are compared by their symbol IDs, which also index the groups.
+ * A change only re-evaluates other tasks when it crosses a threshold of the rule: a date bucket growing to two
+ * tasks or shrinking to one, or a group gaining or losing the state where all its tasks are duplicates.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class DuplicateIndex {
+    private final List<NameGroup> groups = new ArrayList<>();
+    private final BitSet duplicates = new BitSet();
+    private int numberOfDuplicates;
+
+    /**
+     * Adds the given visible task, whose name has been interned, to the group of its name.
+     *
+     * @param task the task to add
+     */
+    void add(Task task) {
+        int symbol = task.getNameId();
+        while (groups.size() <= symbol) {
+            groups.add(null);
+        }
+        NameGroup group = groups.get(symbol);
+        if (group == null) {
+            group = new NameGroup();
+            groups.set(symbol, group);
+        }
+        boolean allDuplicates = group.allDuplicates();
+        Set<Task> bucket = group.insert(task, task.getDate());
+        if (allDuplicates != group.allDuplicates()) {
+            refreshAll(group);
+        } else if (allDuplicates || bucket.size() > 2) {
+            mark(task, true);
+        } else if (bucket.size() == 2) {
+            refresh(group, bucket);
+        }
+    }
+
+    /**
+     * Removes the given task from the group of its name.
+     *
+     * @param task the task to remove
+     * @param date the date the task was indexed with
+     */
+    void remove(Task task, LocalDate date) {
+        int symbol = task.getNameId();
+        NameGroup group = symbol < groups.size() ? groups.get(symbol) : null;
+        if (group == null) {
+            return;
+        }
+        boolean allDuplicates = group.allDuplicates();
+        if (!group.delete(task, date)) {
+            return;
+        }
+        mark(task, false);
+        Set<Task> bucket = group.bucket(date);
+        if (group.size == 0) {
+            groups.set(symbol, null);
+        } else if (allDuplicates != group.allDuplicates()) {
+            refreshAll(group);
+        } else if (!allDuplicates && bucket.size() == 1) {
+            refresh(group, bucket);
+        }
+    }
+
+    /**
+     * Returns the sorted IDs of all tasks that currently have a duplicate.
+     *
+     * @return the sorted IDs of all tasks that currently have a duplicate
+     */
+    int[] getDuplicates() {
+        int[] result = new int[numberOfDuplicates];
+        int i = 0;
+        for (int id = duplicates.nextSetBit(0); id >= 0; id = duplicates.nextSetBit(id + 1)) {
+            result[i++] = id;
+        }
+        return result;
+    }
+
+    private void refreshAll(NameGroup group) {
+        refresh(group, group.undated);
+        for (Set<Task> bucket : group.dated.values()) {
+            refresh(group, bucket);
+        }
+    }
+
+    private void refresh(NameGroup group, Set<Task> bucket) {
+        for (Task task : bucket) {
+            mark(task, group.isDuplicate(bucket));
+        }
+    }
+
+    private void mark(Task task, boolean duplicate) {
+        int id = task.getId();
+        if (duplicates.get(id) != duplicate) {
+            duplicates.set(id, duplicate);
+            numberOfDuplicates += duplicate ? 1 : -1;
+        }
+    }
+
+    /**
+     * All visible tasks sharing one name, bucketed by their date.
+     */
+    private static final class NameGroup {
+        private final Set<Task> undated = new LinkedHashSet<>();
+        private final Map<LocalDate, Set<Task>> dated = new HashMap<>();
+        private int size;
+
+        Set<Task> insert(Task task, LocalDate date) {
+            Set<Task> bucket = date == null ? undated : dated.computeIfAbsent(date, d -> new LinkedHashSet<>());
+            bucket.add(task);
+            size++;
+            return bucket;
+        }
+
+        boolean delete(Task task, LocalDate date) {
+            Set<Task> bucket = bucket(date);
+            if (!bucket.remove(task)) {
+                return false;
+            }
+            if (date != null && bucket.isEmpty()) {
+                dated.remove(date);
+            }
+            size--;
+            return true;
+        }
+
+        Set<Task> bucket(LocalDate date) {
+            if (date == null) {
+                return undated;
+            }
+            return dated.getOrDefault(date, Set.of());
+        }
+
+        boolean allDuplicates() {
+            return size > 1 && !undated.isEmpty();
+        }
+
+        boolean isDuplicate(Set<Task> bucket) {
+            return allDuplicates() || bucket.size() > 1;
+        }
+    }
+}
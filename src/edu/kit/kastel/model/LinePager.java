@@ -0,0 +1,75 @@
+package edu.kit.kastel.model;
+
+/**
+ * Counts the lines of a query while they are printed and stops the query once its page is full.
+ * The first line that does not fit on the page becomes the cursor of the next page.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class LinePager {
+    private final Page page;
+    private int printed;
+    private Page next;
+
+    /**
+     * Instantiates a new pager for the given page.
+     *
+     * @param page the requested page
+     */
+    LinePager(Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Returns the number of lines of the given top level result that were shown on earlier pages.
+     *
+     * @param result the top level result
+     * @return the line of the cursor if the result is the cursor task, zero otherwise
+     */
+    int linesBefore(Task result) {
+        return page.hasCursor() && result.getId() == page.getTaskId() ? page.getLine() : 0;
+    }
+
+    /**
+     * Counts the given line of the given top level result. If the page is already full, the line becomes the
+     * cursor of the next page instead.
+     *
+     * @param result the top level result the line belongs to
+     * @param line the number of lines of the result before this line
+     * @return true if the line belongs to the page and has to be printed, false if the query can stop
+     */
+    boolean take(Task result, int line) {
+        if (printed < page.getLimit()) {
+            printed++;
+            return true;
+        }
+        if (next == null) {
+            next = new Page(result.getId(), line, page.getLimit());
+        }
+        return false;
+    }
+
+    /**
+     * Records the top level result following the printed ones. If the page is full, the result becomes the cursor
+     * of the next page.
+     *
+     * @param result the next top level result
+     * @return true if the result has to be printed, false if the query can stop
+     */
+    boolean takeResult(Task result) {
+        if (next == null && printed >= page.getLimit()) {
+            next = new Page(result.getId(), 0, page.getLimit());
+        }
+        return next == null;
+    }
+
+    /**
+     * Returns the page following the requested one.
+     *
+     * @return the next page, or null if the requested page contained the last line
+     */
+    Page nextPage() {
+        return next;
+    }
+}
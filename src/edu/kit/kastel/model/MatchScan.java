@@ -0,0 +1,78 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Finds the visible top-most tasks matching a query lazily, in the order they are displayed.
+ * The task forest is walked in pre-order on an explicit stack of sibling iterators. A matching task is returned
+ * without walking its subtasks, which are printed with it, so the walk only goes as far as the results consumed.
+ * A scan can start at a given top-most match, where it rebuilds the stack along the parents of that task.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class MatchScan implements Iterator<Task> {
+    private final Predicate<Task> matches;
+    private final boolean searchSubtasks;
+    private final Deque<Iterator<Task>> siblings = new ArrayDeque<>();
+    private Task next;
+
+    /**
+     * Instantiates a new scan over the given top level tasks.
+     *
+     * @param roots the top level tasks
+     * @param start the top-most match to start at, or null to start at the first task
+     * @param matches the test whether a task matches the query
+     * @param searchSubtasks whether the subtasks of tasks that do not match are searched
+     */
+    MatchScan(PriorityBuckets roots, Task start, Predicate<Task> matches, boolean searchSubtasks) {
+        this.matches = matches;
+        this.searchSubtasks = searchSubtasks;
+        if (start == null) {
+            siblings.push(roots.iterator());
+            return;
+        }
+        Deque<Task> path = new ArrayDeque<>();
+        for (Task task = start; task != null; task = task.getParentTask()) {
+            path.push(task);
+        }
+        Task parent = null;
+        for (Task task : path) {
+            siblings.push(parent == null ? roots.iteratorAfter(task) : parent.getSubTasksAfter(task));
+            parent = task;
+        }
+        next = start;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !siblings.isEmpty()) {
+            Iterator<Task> level = siblings.peek();
+            if (!level.hasNext()) {
+                siblings.pop();
+                continue;
+            }
+            Task task = level.next();
+            if (matches.test(task)) {
+                next = task;
+            } else if (searchSubtasks) {
+                siblings.push(task.getSubTasksByPriority().iterator());
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Task next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Task task = next;
+        next = null;
+        return task;
+    }
+}
@@ -0,0 +1,134 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An n-gram index over the distinct task names for substring search.
+ * Every name symbol is indexed once with all its substrings of up to three characters, however many tasks share
+ * it. A query of up to three characters is answered by its own posting list, longer queries intersect the posting
+ * lists of their trigrams and verify the remaining candidates.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class NameIndex {
+    private static final int GRAM_LENGTH = 3;
+    private final Map<String, List<Integer>> postings = new HashMap<>();
+    private final List<List<Task>> tasksBySymbol = new ArrayList<>();
+
+    /**
+     * Adds the given task, whose name has been interned, to the index.
+     * Name symbols have to be added in ascending order of their IDs.
+     *
+     * @param task the task to add
+     */
+    void add(Task task) {
+        int symbol = task.getNameId();
+        while (tasksBySymbol.size() <= symbol) {
+            tasksBySymbol.add(null);
+        }
+        if (tasksBySymbol.get(symbol) == null) {
+            tasksBySymbol.set(symbol, new ArrayList<>());
+            String name = task.getName();
+            Set<String> grams = new HashSet<>();
+            for (int length = 1; length <= GRAM_LENGTH; length++) {
+                for (int i = 0; i + length <= name.length(); i++) {
+                    grams.add(name.substring(i, i + length));
+                }
+            }
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, g -> new ArrayList<>()).add(symbol);
+            }
+        }
+        tasksBySymbol.get(symbol).add(task);
+    }
+
+    /**
+     * Returns the IDs of all name symbols containing the given string.
+     *
+     * @param query the string to search for
+     * @return the IDs of all names containing the given string
+     */
+    BitSet findSymbols(String query) {
+        BitSet result = new BitSet();
+        if (query.length() <= GRAM_LENGTH) {
+            for (int symbol : postings.getOrDefault(query, List.of())) {
+                result.set(symbol);
+            }
+            return result;
+        }
+        List<List<Integer>> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            List<Integer> list = postings.get(query.substring(i, i + GRAM_LENGTH));
+            if (list == null) {
+                return result;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(List::size));
+        List<Integer> candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        for (int symbol : candidates) {
+            if (tasksBySymbol.get(symbol).get(0).getName().contains(query)) {
+                result.set(symbol);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all tasks, including deleted ones, whose name is one of the given symbols.
+     *
+     * @param symbols the IDs of the name symbols
+     * @return all tasks with one of the given names
+     */
+    List<Task> tasksOf(BitSet symbols) {
+        List<Task> result = new ArrayList<>();
+        for (int symbol = symbols.nextSetBit(0); symbol >= 0; symbol = symbols.nextSetBit(symbol + 1)) {
+            result.addAll(tasksBySymbol.get(symbol));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of tasks, including deleted ones, whose name is one of the given symbols.
+     *
+     * @param symbols the IDs of the name symbols
+     * @return the number of tasks with one of the given names
+     */
+    int countTasksOf(BitSet symbols) {
+        int count = 0;
+        for (int symbol = symbols.nextSetBit(0); symbol >= 0; symbol = symbols.nextSetBit(symbol + 1)) {
+            count += tasksBySymbol.get(symbol).size();
+        }
+        return count;
+    }
+
+    private static List<Integer> intersect(List<Integer> first, List<Integer> second) {
+        List<Integer> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            int difference = Integer.compare(first.get(i), second.get(j));
+            if (difference == 0) {
+                result.add(first.get(i));
+                i++;
+                j++;
+            } else if (difference < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package edu.kit.kastel.model;
+
+/**
+ * A page of the lines printed by a query, given by a cursor and the number of lines to print.
+ * The cursor names the top level result the page starts at and the number of its lines shown on earlier pages,
+ * so a page resumes at its first line without walking the results before it.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+public final class Page {
+    /**
+     * The page containing all lines.
+     */
+    public static final Page ALL = new Page(Integer.MAX_VALUE);
+    private static final int NO_CURSOR = -1;
+    private final int taskId;
+    private final int line;
+    private final int limit;
+
+    /**
+     * Instantiates a new page starting at the first line of the query.
+     *
+     * @param limit the maximum number of lines to print
+     */
+    public Page(int limit) {
+        this(NO_CURSOR, 0, limit);
+    }
+
+    /**
+     * Instantiates a new page starting at the given line of the given top level result.
+     *
+     * @param taskId the ID of the top level result the page starts at
+     * @param line the number of lines of that result shown on earlier pages
+     * @param limit the maximum number of lines to print
+     */
+    public Page(int taskId, int line, int limit) {
+        this.taskId = taskId;
+        this.line = line;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns true if this page starts at a cursor, false if it starts at the first line of the query.
+     *
+     * @return true if this page has a cursor, false otherwise
+     */
+    public boolean hasCursor() {
+        return taskId != NO_CURSOR;
+    }
+
+    /**
+     * Returns the ID of the top level result this page starts at.
+     *
+     * @return the task ID of the cursor of this page
+     */
+    public int getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Returns the number of lines of the top level result this page starts at that were shown on earlier pages.
+     *
+     * @return the line of the cursor of this page
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the maximum number of lines of this page.
+     *
+     * @return the limit of this page
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,147 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+/**
+ * A collection of tasks bucketed by priority, where each bucket is ordered by the sequence numbers of its tasks.
+ * Iterating yields the same order as a stable sort by priority of the tasks in insertion order, without sorting.
+ * The priority and the sequence number of a task must not change while it is contained.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class PriorityBuckets implements Iterable<Task> {
+    private static final int PRIORITIES = Priority.values().length;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final NavigableSet<Task>[] buckets = new NavigableSet[PRIORITIES];
+    private int size;
+
+    /**
+     * Adds the given task to the bucket of its priority.
+     *
+     * @param task the task to add
+     */
+    void add(Task task) {
+        int index = task.getPriority().ordinal();
+        if (buckets[index] == null) {
+            buckets[index] = new TreeSet<>(TaskOrder.INSERTION);
+        }
+        if (buckets[index].add(task)) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes the given task from the bucket of its priority.
+     *
+     * @param task the task to remove
+     * @return true if the task was contained, false otherwise
+     */
+    boolean remove(Task task) {
+        return remove(task, task.getPriority());
+    }
+
+    /**
+     * Moves the given task, whose priority has changed, from the bucket of its old priority to its new one.
+     *
+     * @param task the task to move
+     * @param oldPriority the priority the task was added with
+     */
+    void move(Task task, Priority oldPriority) {
+        if (remove(task, oldPriority)) {
+            add(task);
+        }
+    }
+
+    /**
+     * Returns the contained tasks ordered by their sequence numbers only.
+     *
+     * @return the contained tasks in insertion order
+     */
+    List<Task> inInsertionOrder() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (NavigableSet<Task> bucket : buckets) {
+            if (bucket != null) {
+                tasks.addAll(bucket);
+            }
+        }
+        tasks.sort(TaskOrder.INSERTION);
+        return tasks;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        if (size == 0) {
+            return Collections.emptyIterator();
+        }
+        return new BucketIterator();
+    }
+
+    /**
+     * Returns an iterator over the tasks following the given contained task in priority order.
+     *
+     * @param task the contained task to start after
+     * @return an iterator over the tasks after the given task
+     */
+    Iterator<Task> iteratorAfter(Task task) {
+        int index = task.getPriority().ordinal();
+        return new BucketIterator(index + 1, buckets[index].tailSet(task, false).iterator());
+    }
+
+    private boolean remove(Task task, Priority priority) {
+        NavigableSet<Task> bucket = buckets[priority.ordinal()];
+        if (bucket == null || !bucket.remove(task)) {
+            return false;
+        }
+        if (bucket.isEmpty()) {
+            buckets[priority.ordinal()] = null;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Iterates the buckets in priority order without creating an iterator for empty buckets.
+     */
+    private final class BucketIterator implements Iterator<Task> {
+        private int index;
+        private Iterator<Task> current;
+
+        BucketIterator() {
+            this(0, Collections.emptyIterator());
+        }
+
+        BucketIterator(int index, Iterator<Task> current) {
+            this.index = index;
+            this.current = current;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (index == PRIORITIES) {
+                    return false;
+                }
+                NavigableSet<Task> bucket = buckets[index++];
+                if (bucket != null) {
+                    current = bucket.iterator();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
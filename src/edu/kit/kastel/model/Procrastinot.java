@@ -2,17 +2,25 @@
 
 import edu.kit.kastel.exception.IllegalAddListException;
 import edu.kit.kastel.exception.IllegalAssignException;
+import edu.kit.kastel.exception.IllegalRestoreException;
+import edu.kit.kastel.exception.InvalidCursorException;
 import edu.kit.kastel.exception.ListNotFoundException;
 import edu.kit.kastel.exception.NoTaskFoundException;
 import edu.kit.kastel.exception.TagAlreadyUsedException;
 import edu.kit.kastel.exception.TaskDeletedException;
 import edu.kit.kastel.exception.TaskNotFoundException;
+import java.io.PrintWriter;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * The procrastinot platform.
@@ -21,18 +29,72 @@
  * @version 1.0
  */
 public final class Procrastinot {
-    private static final String SUBSTRING = " ";
     private static final int DATES_TO_ADD = 6;
-    private final List<Task> defaultTasks = new ArrayList<>();
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Predicate<Task> ALL_SUBTASKS = (task) -> true;
+    private Task[] tasksById = new Task[INITIAL_CAPACITY];
     private final List<TaskList> lists = new ArrayList<>();
+    private final Map<String, TaskList> listsByName = new HashMap<>();
+    private final DuplicateIndex duplicates = new DuplicateIndex();
+    private final SymbolTable nameSymbols = new SymbolTable();
+    private final SymbolTable tagSymbols = new SymbolTable();
+    private final TagIndex tags = new TagIndex();
+    private final DueDateIndex dates = new DueDateIndex();
+    private final NameIndex names = new NameIndex();
+    private final PriorityBuckets roots = new PriorityBuckets();
+    private final PrintWriter out;
+    private final TaskRenderer renderer = new TaskRenderer();
+    private long sequence;
+    private int numberOfTasks;
+    private int visibleTasks;
 
     /**
-     * Returns a list of the default tasks for the procrastinot platform.
+     * Instantiates an empty procrastinot platform that prints to the console.
+     */
+    public Procrastinot() {
+        this(new PrintWriter(System.out, true));
+    }
+
+    /**
+     * Instantiates an empty procrastinot platform that prints to the given writer.
+     *
+     * @param out the writer to print tasks to
+     */
+    public Procrastinot(PrintWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Returns the number of tasks ever added to the procrastinot platform, including deleted ones.
+     *
+     * @return the number of tasks of the procrastinot platform
+     */
+    public int getNumberOfTasks() {
+        return numberOfTasks;
+    }
+
+    /**
+     * Adds the given task to the default tasks and indexes it by its ID.
+     * The order of the default tasks is kept as sequence numbers of the top level tasks.
+     * The name of the task is replaced by its shared instance in the name symbol table.
      *
-     * @return a list of the default tasks for the procrastinot platform
+     * @param task the task to add
      */
-    public List<Task> getDefaultTasks() {
-        return defaultTasks;
+    public void addTask(Task task) {
+        int id = task.getId();
+        if (id >= tasksById.length) {
+            tasksById = Arrays.copyOf(tasksById, Math.max(id + 1, tasksById.length * 2));
+        }
+        tasksById[id] = task;
+        numberOfTasks++;
+        task.setOwner(this);
+        task.internName(nameSymbols);
+        task.setSequence(nextSequence());
+        roots.add(task);
+        visibleTasks++;
+        duplicates.add(task);
+        dates.add(task, task.getDate());
+        names.add(task);
     }
 
     /**
@@ -42,23 +104,25 @@ public List<Task> getDefaultTasks() {
      * @throws IllegalAddListException if the list to add is already appeared in lists
      */
     public void addList(TaskList list) throws IllegalAddListException {
-        for (TaskList taskList : lists) {
-            if (taskList.getListName().equals(list.getListName())) {
-                throw new IllegalAddListException(list.getListName());
-            }
+        if (listsByName.putIfAbsent(list.getListName(), list) != null) {
+            throw new IllegalAddListException(list.getListName());
         }
         lists.add(list);
     }
 
     /**
      * Retrieves the task with the given ID from the default tasks list.
+     * IDs are handed out densely, so the lookup is a direct array access.
      *
      * @param id the unique ID of the task to retrieve
      * @return the Task object with the given ID
      * @throws TaskNotFoundException if the ID is not found in the default tasks list
      */
     public Task getTask(int id) throws TaskNotFoundException {
-        return defaultTasks.stream().filter(t -> t.getId() == id).findFirst().orElseThrow(() -> new TaskNotFoundException(id));
+        if (id < 0 || id >= tasksById.length || tasksById[id] == null) {
+            throw new TaskNotFoundException(id);
+        }
+        return tasksById[id];
     }
 
     /**
@@ -69,12 +133,11 @@ public Task getTask(int id) throws TaskNotFoundException {
      * @throws ListNotFoundException if the name is not found in the list of task lists
      */
     public TaskList getTaskListByName(String name) throws ListNotFoundException {
-        for (TaskList list : lists) {
-            if (list.getListName().equals(name)) {
-                return list;
-            }
+        TaskList list = listsByName.get(name);
+        if (list == null) {
+            throw new ListNotFoundException(name);
         }
-        throw new ListNotFoundException(name);
+        return list;
     }
 
     /**
@@ -88,7 +151,7 @@ public TaskList getTaskListByName(String name) throws ListNotFoundException {
     public void addTag(int id, String tag) throws TaskNotFoundException, TagAlreadyUsedException {
         Task task = getTask(id);
         if (task != null) {
-            task.addTag(tag);
+            task.addTag(tagSymbols, tag);
         } else {
             throw new TaskNotFoundException(id);
         }
@@ -105,7 +168,7 @@ public void addTag(int id, String tag) throws TaskNotFoundException, TagAlreadyU
     public void addListTag(String listName, String tag) throws ListNotFoundException, TagAlreadyUsedException {
         TaskList list = getTaskListByName(listName);
         if (list != null) {
-            list.add(tag);
+            list.add(tagSymbols, tag);
         } else {
             throw new ListNotFoundException(listName);
         }
@@ -125,7 +188,7 @@ public void assignTaskForTask(int subtaskId, int parentTaskId) throws TaskNotFou
         Task subTask = getTask(subtaskId);
         Task parentTask = getTask(parentTaskId);
 
-        if (!(subTask.isVisible()) || !(parentTask.isVisible())) {
+        if (!subTask.isVisible() || !parentTask.isVisible()) {
             throw new TaskDeletedException();
         }
         if (subTask.contains(parentTask) || parentTask.contains(subTask)) {
@@ -136,29 +199,47 @@ public void assignTaskForTask(int subtaskId, int parentTaskId) throws TaskNotFou
         }
         if (subTask.getParentTask() != null) {
             subTask.getParentTask().removeSubTask(subTask);
+        } else {
+            roots.remove(subTask);
         }
-        parentTask.getSubTasks().add(subTask);
+        subTask.setSequence(nextSequence());
+        parentTask.addSubTask(subTask);
         subTask.setParentTask(parentTask);
     }
 
     /**
-     * Prints the given task and its subtasks (if any) to the console with the specified indentation.
+     * Restores the given task and all its subtasks. If the parent of the task is deleted, the task is detached
+     * from it and becomes a top level task.
+     * A top level task is moved to the end of the default tasks by assigning it a new sequence number, which takes
+     * constant time apart from repositioning it among the top level tasks.
+     *
+     * @param task the task to restore
+     * @throws IllegalRestoreException if the task is not deleted
+     */
+    public void restoreTask(Task task) throws IllegalRestoreException {
+        Task parent = task.getParentTask();
+        if (parent != null && !parent.isVisible()) {
+            task.removeParent();
+            parent.removeSubTask(task);
+        }
+        if (task.getParentTask() == null) {
+            boolean visibleRoot = roots.remove(task);
+            task.setSequence(nextSequence());
+            if (visibleRoot) {
+                roots.add(task);
+            }
+        }
+        task.restore(true);
+    }
+
+    /**
+     * Prints the given task and its subtasks (if any) with the specified indentation.
      *
      * @param task the task to print
      * @param indentation the number of spaces to indent the task and its subtasks
      */
     public void printTask(Task task, int indentation) {
-        String s = buildString(SUBSTRING, indentation);
-        List<Task> subTasksCopy = new ArrayList<>(task.getSubTasks());
-        Collections.sort(subTasksCopy);
-        System.out.println(s + task.print());
-        if (!subTasksCopy.isEmpty()) {
-            for (Task subTask : subTasksCopy) {
-                if (subTask.isVisible()) {
-                    printTask(subTask, indentation + 2);
-                }
-            }
-        }
+        printLines(ALL_SUBTASKS, task, indentation, new LinePager(Page.ALL));
     }
 
     /**
@@ -170,32 +251,89 @@ public void printTask(Task task, int indentation) {
      * @throws IllegalArgumentException if the task is not visible
      */
     public void printTaskConditional(Predicate<Task> predicate, Task task, int indentation) {
-        String s = buildString(SUBSTRING, indentation);
-        List<Task> subTasksCopy = new ArrayList<>(task.getSubTasks());
-        Collections.sort(subTasksCopy);
-        System.out.println(s + task.print());
-        if (!subTasksCopy.isEmpty()) {
-            for (Task subTask : subTasksCopy) {
-                if (subTask.isVisible() && predicate.test(subTask)) {
-                    printTaskConditional(predicate, subTask, indentation + 2);
+        printLines(predicate, task, indentation, new LinePager(Page.ALL));
+    }
+
+    /**
+     * Prints the lines of the given task and its subtasks fulfilling the predicate that belong to the page of the
+     * given pager. The walk stops as soon as the page is full. Lines shown on earlier pages are skipped, without
+     * a predicate whole subtrees at once by their number of visible subtasks.
+     *
+     * @param predicate the predicate to test the subtasks against
+     * @param task the top level result to print
+     * @param indentation the number of spaces to indent the task and its subtasks
+     * @param pager the pager of the query
+     */
+    private void printLines(Predicate<Task> predicate, Task task, int indentation, LinePager pager) {
+        boolean unfiltered = predicate == ALL_SUBTASKS;
+        int skipped = pager.linesBefore(task);
+        TaskTraversal.walk(task, new TaskTraversal.Visitor() {
+            private int line;
+
+            @Override
+            public Iterable<Task> enter(Task current, int depth) {
+                if (depth > 0 && !predicate.test(current)) {
+                    return null;
+                }
+                if (line < skipped) {
+                    int subtreeLines = 1 + current.getNumberOfVisibleSubtasks();
+                    if (unfiltered && line + subtreeLines <= skipped) {
+                        line += subtreeLines;
+                        return null;
+                    }
+                    line++;
+                    return current.getSubTasksByPriority();
                 }
+                if (!pager.take(task, line)) {
+                    return null;
+                }
+                renderer.print(current, indentation + 2 * depth, out);
+                line++;
+                return current.getSubTasksByPriority();
+            }
+        });
+    }
+
+    /**
+     * Prints the lines of the given top level results and their subtasks fulfilling the predicate that belong to
+     * the given page. The results are only consumed until the page is full.
+     *
+     * @param results the top level results, starting at the cursor of the page if it has one
+     * @param predicate the predicate to test the subtasks against
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
+     */
+    private Page printPage(Iterator<Task> results, Predicate<Task> predicate, Page page) {
+        LinePager pager = new LinePager(page);
+        while (results.hasNext()) {
+            Task result = results.next();
+            if (!pager.takeResult(result)) {
+                break;
             }
+            printLines(predicate, result, 0, pager);
         }
+        return pager.nextPage();
     }
 
     /**
-     * Builds a string consisting of the given substring repeated a specified number of times.
+     * Prints the lines of the given tasks and their subtasks that belong to the given page.
      *
-     * @param substring the substring to repeat
-     * @param indentation the number of times to repeat the substring
-     * @return a string consisting of the given substring repeated a specified number of times
+     * @param tasks the tasks to print
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
+     * @throws InvalidCursorException if the cursor of the page does not point to one of the given tasks
      */
-    public String buildString(String substring, int indentation) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < indentation; i++) {
-            sb.append(substring);
+    public Page printTasks(List<Task> tasks, Page page) throws InvalidCursorException {
+        int start = 0;
+        if (page.hasCursor()) {
+            while (start < tasks.size() && tasks.get(start).getId() != page.getTaskId()) {
+                start++;
+            }
+            if (start == tasks.size()) {
+                throw new InvalidCursorException(page.getTaskId(), page.getLine());
+            }
         }
-        return sb.toString();
+        return printPage(tasks.subList(start, tasks.size()).iterator(), ALL_SUBTASKS, page);
     }
 
     /**
@@ -208,10 +346,8 @@ public String buildString(String substring, int indentation) {
     public boolean printList(String name) throws ListNotFoundException {
         TaskList list = getTaskListByName(name);
         boolean printed = false;
-        for (Task task : list.getListCopy()) {
-            if (task.isVisible() && (!list.getListCopy().contains(task.getParentTask())
-                    || (list.getListCopy().contains(task.getParentTask())
-                    && task.getParentTask() != null && !task.getParentTask().isVisible()))) {
+        for (Task task : list.getSortedTasks()) {
+            if (!list.contains(task.getParentTask())) {
                 printTask(task,  0);
                 printed = true;
             }
@@ -220,179 +356,329 @@ public boolean printList(String name) throws ListNotFoundException {
     }
 
     /**
-    * Prints all visible todo tasks in the default tasks list to the console with the specified indentation.
+    * Prints the given page of all visible todo tasks in the default tasks list with the specified indentation.
+     * The top level tasks are walked lazily from the cursor of the page, so the walk stops as soon as the page is
+     * full.
      *
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
      * @throws NoTaskFoundException if no tasks in the system or all tasks are completed
+     * @throws InvalidCursorException if the cursor of the page does not point to a top level todo task
     */
-    public void printTodoTasks() throws NoTaskFoundException {
-        if (defaultTasks.isEmpty()) {
-            throw new NoTaskFoundException();
+    public Page printTodoTasks(Page page) throws NoTaskFoundException, InvalidCursorException {
+        Predicate<Task> todo = (task) -> !task.isCompleted() || task.hasUndoneChild();
+        Task start = getCursorTask(page);
+        if (start != null && (start.getParentTask() != null || !todo.test(start))) {
+            throw new InvalidCursorException(page.getTaskId(), page.getLine());
         }
-        boolean hasFound = false;
-        List<Task> tasksCopy = new ArrayList<>(defaultTasks);
-        Collections.sort(tasksCopy);
-        for (Task task : tasksCopy) {
-            if (task.isVisible() && (task.getParentTask() == null) && (task.hasUndoneChild() || !task.isCompleted())) {
-                hasFound = true;
-                printTaskConditional(((subTask) -> (subTask.hasUndoneChild() || !subTask.isCompleted())), task, 0);
-            }
+        if (numberOfTasks == 0) {
+            throw new NoTaskFoundException();
         }
-        if (!hasFound) {
+        MatchScan results = new MatchScan(roots, start, todo, false);
+        if (!results.hasNext()) {
             throw new NoTaskFoundException();
         }
+        return printPage(results, todo, page);
     }
 
     /**
-     * Gets list of tasks contained within the parameter list that have the given tag with specified indentation.
+     * Gets the list of visible tasks that have the given tag and no ancestor with the given tag.
+     * The tasks are ordered as they appear in the task forest.
      *
      * @param tag the tag to filter tasks by
-     * @param list the list to search for matching tasks
-     * @param top whether this is the top level recursion step
      * @return a list of tasks that have the specified tag
-     * @throws NoTaskFoundException if the tag is null or empty
+     * @throws NoTaskFoundException if there are no visible tasks
      */
-    public List<Task> getTasksWithTag(String tag, List<Task> list, boolean top) throws NoTaskFoundException {
-        if (list.stream().filter(Task::isVisible).toList().isEmpty() && top) {
+    public List<Task> getTasksWithTag(String tag) throws NoTaskFoundException {
+        if (visibleTasks == 0) {
             throw new NoTaskFoundException();
         }
+        int tagId = tagSymbols.idOf(tag);
         List<Task> result = new ArrayList<>();
-        List<Task> tasksCopy = new ArrayList<>(list.stream().filter(Task::isVisible).toList());
-        for (Task element: tasksCopy) {
-            if (element.hasTag(tag)) {
-                result.add(element);
-            } else {
-                result.addAll(this.getTasksWithTag(tag, element.getSubTasks(), false));
+        for (Task task : tags.get(tagId)) {
+            if (!hasMatchingAncestor(task, (parent) -> parent.hasTag(tagId))) {
+                result.add(task);
             }
         }
+        TaskOrder.sort(result, TaskOrder.INSERTION);
         return result;
     }
 
     /**
-     * Prints all visible tasks in the default tasks list that contain the given name to the console with the specified indentation.
+     * Prints the given page of all visible tasks in the default tasks list that contain the given name with the specified indentation.
      *
      * @param name the name to filter tasks by
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
      * @throws NoTaskFoundException if the name is null or empty
+     * @throws InvalidCursorException if the cursor of the page does not point to a top-most match
      */
-    public void findTasksWithName(String name) throws NoTaskFoundException {
-        printFilteredTasks((task) -> task.getName().contains(name), defaultTasks);
+    public Page findTasksWithName(String name, Page page) throws NoTaskFoundException, InvalidCursorException {
+        BitSet symbols = names.findSymbols(name);
+        Predicate<Task> named = (task) -> symbols.get(task.getNameId());
+        return printTopmostMatches(named, (task) -> !hasMatchingAncestor(task, named), names.countTasksOf(symbols),
+                () -> names.tasksOf(symbols), page);
     }
 
     /**
-     * Prints all visible tasks that are due within the next seven days with the specified indentation.
+     * Prints the given page of all visible tasks that are due within the next seven days with the specified indentation.
      *
      * @param date the date to filter tasks by
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
      * @throws NoTaskFoundException if the date is null or in the past
+     * @throws InvalidCursorException if the cursor of the page does not point to a top-most match
      */
-    public void upcomingDue(LocalDate date) throws NoTaskFoundException {
-        printFilteredTasks((task) -> {
-            LocalDate dueDate = task.getDate();
-            if (dueDate == null) {
-                return false;
-            }
-            return !dueDate.isBefore(date) && !dueDate.isAfter(date.plusDays(DATES_TO_ADD));
-        }, this.defaultTasks);
+    public Page upcomingDue(LocalDate date, Page page) throws NoTaskFoundException, InvalidCursorException {
+        return printTasksDue(date, date.plusDays(DATES_TO_ADD), page);
     }
 
     /**
-     * Prints all visible tasks in the default tasks list that are due before the given date to the console with the specified indentation.
+     * Prints the given page of all visible tasks in the default tasks list that are due before the given date with the specified indentation.
      *
      * @param date the date to filter tasks by
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
      * @throws NoTaskFoundException if the date is null or in the past
+     * @throws InvalidCursorException if the cursor of the page does not point to a top-most match
      */
-    public void printTasksBefore(LocalDate date) throws NoTaskFoundException {
-        printFilteredTasks((task) -> {
-            LocalDate dueDate = task.getDate();
-            if (dueDate == null) {
-                return false;
-            }
-            return !dueDate.isAfter(date);
-        }, this.defaultTasks);
+    public Page printTasksBefore(LocalDate date, Page page) throws NoTaskFoundException, InvalidCursorException {
+        return printTasksDue(null, date, page);
     }
 
     /**
-     * Prints all visible tasks in the default tasks list that are due between the given start and end dates with indentation.
+     * Prints the given page of all visible tasks in the default tasks list that are due between the given start and end dates with indentation.
      *
      * @param date01 the start date to filter tasks by
      * @param date02 the end date to filter tasks by
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
      * @throws NoTaskFoundException if either date is null or if date02 is before date01
+     * @throws InvalidCursorException if the cursor of the page does not point to a top-most match
      */
-    public void printTasksBetween(LocalDate date01, LocalDate date02) throws NoTaskFoundException {
-        printFilteredTasks((task) -> {
-            LocalDate dueDate = task.getDate();
-            if (dueDate == null) {
-                return false;
-            }
-            return ((!dueDate.isBefore(date01) && !dueDate.isAfter(date02)) || (!dueDate.isBefore(date02) && !dueDate.isAfter(date01)));
-        }, this.defaultTasks);
+    public Page printTasksBetween(LocalDate date01, LocalDate date02, Page page) throws NoTaskFoundException,
+            InvalidCursorException {
+        if (date02.isBefore(date01)) {
+            return printTasksDue(date02, date01, page);
+        }
+        return printTasksDue(date01, date02, page);
     }
 
     /**
-     * Prints all tasks in the given list that are visible, fulfil the predicate and have no parent task specified indentation.
+     * Prints all visible tasks that are due between the given dates, both inclusive, using the due date index.
      *
-     * @param predicate the predicate to test tasks against
-     * @param list the list of tasks to print
-     * @throws NoTaskFoundException the same exception that was passed
+     * @param from the first date, or null for no lower bound
+     * @param to the last date
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
+     * @throws NoTaskFoundException if no task is due in the given range
+     * @throws InvalidCursorException if the cursor of the page does not point to a top-most match
      */
-    public void printFilteredTasks(Predicate<Task> predicate, List<Task> list) throws NoTaskFoundException {
-        if (list.stream().filter(Task::isVisible).toList().isEmpty()) {
+    private Page printTasksDue(LocalDate from, LocalDate to, Page page) throws NoTaskFoundException,
+            InvalidCursorException {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to.toEpochDay();
+        Predicate<Task> due = (task) -> task.getEpochDay() != Task.NO_DATE && task.getEpochDay() >= fromDay
+                && task.getEpochDay() <= toDay;
+        return printTopmostMatches(due, (task) -> !hasMatchingAncestor(task, due),
+                dates.countVisible(from, to), () -> dates.between(from, to), page);
+    }
+
+    /**
+     * Prints every visible top-most match, ordered as in the task forest and together with its subtasks.
+     * A match is top-most if it has no ancestor matching the query. Only the lines of the given page are printed.
+     * If the matches are many compared to the page, the forest is scanned lazily in display order from the cursor,
+     * which stops as soon as the page is full. Otherwise the candidates are collected and ordered, which costs
+     * less than a scan that has to pass many tasks between two matches. The scan is chosen when the square of the
+     * number of candidates exceeds the page size times the number of visible tasks, as a scan passes about that
+     * many tasks per match.
+     *
+     * @param matches the test whether a task matches the query
+     * @param topmost the test whether a candidate has no matching ancestor
+     * @param candidateCount the number of candidates
+     * @param candidates builds all tasks matching the query, including deleted ones; called at most once
+     * @param page the page to print
+     * @return the next page, or null if the given page contained the last line
+     * @throws NoTaskFoundException if there are no visible tasks or no top-most candidate
+     * @throws InvalidCursorException if the cursor of the page does not point to a top-most match
+     */
+    private Page printTopmostMatches(Predicate<Task> matches, Predicate<Task> topmost, int candidateCount,
+                                     Supplier<Collection<Task>> candidates, Page page)
+            throws NoTaskFoundException, InvalidCursorException {
+        Task start = getCursorTask(page);
+        if (start != null && (!matches.test(start) || !topmost.test(start))) {
+            throw new InvalidCursorException(page.getTaskId(), page.getLine());
+        }
+        if (visibleTasks == 0) {
             throw new NoTaskFoundException();
         }
-        List<Task> subTasksCopy = new ArrayList<>(list);
-        Collections.sort(subTasksCopy);
-        List<Task> filteredList = subTasksCopy.stream().filter(task -> task.getParentTask() == null).collect(Collectors.toList());
-        if (!printFilteredTaskRecursion(predicate, filteredList)) {
+        if ((long) candidateCount * candidateCount > (long) page.getLimit() * visibleTasks) {
+            MatchScan results = new MatchScan(roots, start, matches, true);
+            if (!results.hasNext() && !hasTopmost(candidates.get(), topmost)) {
+                throw new NoTaskFoundException();
+            }
+            return printPage(results, ALL_SUBTASKS, page);
+        }
+        boolean hasTopmost = false;
+        List<Task> results = new ArrayList<>();
+        for (Task task : candidates.get()) {
+            if (topmost.test(task)) {
+                hasTopmost = true;
+                if (task.isVisible()) {
+                    results.add(task);
+                }
+            }
+        }
+        if (!hasTopmost) {
             throw new NoTaskFoundException();
         }
+        TaskOrder.sort(results, TaskOrder.DISPLAY);
+        return printTasks(results, page);
+    }
+
+    private static boolean hasTopmost(Collection<Task> candidates, Predicate<Task> topmost) {
+        for (Task task : candidates) {
+            if (topmost.test(task)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Recursively prints all tasks in the given list that are visible, satisfy the predicate, and have no parent task with indentation.
+     * Returns the visible task the cursor of the given page points to.
      *
-     * @param predicate the predicate to test tasks against
-     * @param list the list of tasks to print
-     * @return true if at least one task was printed, false otherwise
+     * @param page the page of a query
+     * @return the visible cursor task, or null if the page has no cursor
+     * @throws InvalidCursorException if the cursor does not point to a visible task
      */
-    private boolean printFilteredTaskRecursion(Predicate<Task> predicate, List<Task> list) {
-        List<Task> subTasksCopy = new ArrayList<>(list);
-        Collections.sort(subTasksCopy);
-        boolean hasPrinted = false;
-        for (Task task : subTasksCopy) {
-            if (predicate.test(task)) {
-                hasPrinted = true;
-                if (task.isVisible()) {
-                    printTask(task, 0);
-                }
-            } else {
-                boolean res = printFilteredTaskRecursion(predicate, task.getSubTasks());
-                hasPrinted = hasPrinted ? true : res;
+    private Task getCursorTask(Page page) throws InvalidCursorException {
+        if (!page.hasCursor()) {
+            return null;
+        }
+        int id = page.getTaskId();
+        if (id < 0 || id >= tasksById.length || tasksById[id] == null || !tasksById[id].isVisible()) {
+            throw new InvalidCursorException(id, page.getLine());
+        }
+        return tasksById[id];
+    }
+
+    private boolean hasMatchingAncestor(Task task, Predicate<Task> predicate) {
+        for (Task parent = task.getParentTask(); parent != null; parent = parent.getParentTask()) {
+            if (predicate.test(parent)) {
+                return true;
             }
         }
-        return hasPrinted;
+        return false;
     }
 
     /**
-     * Returns a list of all task IDs that have duplicate names in the default tasks list.
+     * Returns the sorted IDs of all visible tasks that have duplicate names in the default tasks list.
+     * Two tasks are duplicates if their names are equal and either one of them has no date or both dates are equal.
      *
-     * @return a list of all task IDs that have duplicate names in the default tasks list
+     * @return the sorted IDs of all visible tasks that have duplicates in the default tasks list
      */
-    public List<Integer> getDuplicates() {
-        List<Integer> result = new ArrayList<>();
-        List<Task> filteredDefault = this.defaultTasks.stream().filter((task) -> task.isVisible()).toList();
-        List<Task> tasks;
-        for (Task element : filteredDefault) {
-            tasks = new ArrayList<>(filteredDefault);
-            tasks.remove(element);
-            boolean found = false;
-            for (Task nextTask : tasks) {
-                if (element.getName().equals(nextTask.getName()) && !found) {
-                    if (element.getDate() == null || nextTask.getDate() == null
-                            || element.getDate().equals(nextTask.getDate())) {
-                        result.add(element.getId());
-                        found = true;
-                    }
-                }
-            }
+    public int[] getDuplicates() {
+        return duplicates.getDuplicates();
+    }
+
+    /**
+     * Returns the statistics of the symbol tables that share equal task names and tags, as shown by the
+     * symbol-stats command.
+     *
+     * @return the combined statistics of the task name and tag symbol tables
+     */
+    public SymbolStats getSymbolStats() {
+        return nameSymbols.getStats().plus(tagSymbols.getStats());
+    }
+
+    /**
+     * Updates the indexes after the given task has been marked as deleted.
+     *
+     * @param task the deleted task
+     */
+    void taskDeleted(Task task) {
+        visibleTasks--;
+        if (task.getParentTask() == null) {
+            roots.remove(task);
+        }
+        duplicates.remove(task, task.getDate());
+        dates.markDeleted(task);
+        for (int tagId : task.getTagIds()) {
+            tags.remove(task, tagId);
+        }
+    }
+
+    /**
+     * Updates the indexes after the given task has been marked as visible again.
+     *
+     * @param task the restored task
+     */
+    void taskRestored(Task task) {
+        visibleTasks++;
+        if (task.getParentTask() == null) {
+            roots.add(task);
+        }
+        duplicates.add(task);
+        dates.markRestored(task);
+        for (int tagId : task.getTagIds()) {
+            tags.add(task, tagId);
+        }
+    }
+
+    /**
+     * Updates the indexes after the given tag has been added to the given task.
+     *
+     * @param task the tagged task
+     * @param tagId the ID of the new tag of the task
+     */
+    void taskTagged(Task task, int tagId) {
+        if (task.isVisible()) {
+            tags.add(task, tagId);
+        }
+    }
+
+    /**
+     * Returns the tag with the given ID in the tag symbol table.
+     *
+     * @param tagId the ID of the tag
+     * @return the tag with the given ID
+     */
+    String getTag(int tagId) {
+        return tagSymbols.symbolOf(tagId);
+    }
+
+    /**
+     * Moves the given top level task to the bucket of its new priority.
+     *
+     * @param task the task whose priority has changed
+     * @param oldPriority the previous priority of the task
+     */
+    void rootPriorityChanged(Task task, Priority oldPriority) {
+        roots.move(task, oldPriority);
+    }
+
+    /**
+     * Returns the next sequence number, used to record the order in which tasks were appended.
+     *
+     * @return the next sequence number
+     */
+    long nextSequence() {
+        return ++sequence;
+    }
+
+    /**
+     * Updates the indexes after the due date of the given task has changed.
+     *
+     * @param task the task whose date has changed
+     * @param oldDate the previous due date of the task
+     */
+    void taskDateChanged(Task task, LocalDate oldDate) {
+        dates.remove(task, oldDate);
+        dates.add(task, task.getDate());
+        if (task.isVisible()) {
+            duplicates.remove(task, oldDate);
+            duplicates.add(task);
         }
-        return result;
     }
 }
@@ -0,0 +1,24 @@
+package edu.kit.kastel.model;
+
+/**
+ * Statistics of the canonicalised task names and tags of the procrastinot platform.
+ * The saved bytes are estimated from the duplicate strings replaced by a shared instance, assuming the usual
+ * header sizes of a 64-bit JVM with compressed references and one byte per character.
+ *
+ * @param symbols the number of distinct strings
+ * @param references the number of strings interned, including repeated ones
+ * @param savedBytes the estimated number of bytes saved by sharing equal strings
+ * @author uyzlh
+ * @version 1.0
+ */
+public record SymbolStats(int symbols, long references, long savedBytes) {
+    /**
+     * Returns the sum of these and the given statistics.
+     *
+     * @param other the statistics to add
+     * @return the combined statistics
+     */
+    public SymbolStats plus(SymbolStats other) {
+        return new SymbolStats(symbols + other.symbols, references + other.references, savedBytes + other.savedBytes);
+    }
+}
@@ -0,0 +1,74 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonicalises strings by mapping every distinct string to a small integer and one shared instance.
+ * Tasks and task lists store the integers or the shared instances only, so equal names and tags are kept once
+ * and comparing them becomes an integer comparison. Symbols are never removed, as tasks are never removed either.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class SymbolTable {
+    /**
+     * The ID returned for strings that have never been interned.
+     */
+    static final int UNKNOWN = -1;
+    private static final int STRING_OVERHEAD = 40;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+    private long references;
+    private long savedBytes;
+
+    /**
+     * Returns the ID of the given string, assigning the next free ID if the string is new.
+     *
+     * @param string the string to intern
+     * @return the ID of the string
+     */
+    int intern(String string) {
+        references++;
+        Integer id = ids.get(string);
+        if (id == null) {
+            id = symbols.size();
+            ids.put(string, id);
+            symbols.add(string);
+        } else if (symbols.get(id) != string) {
+            savedBytes += STRING_OVERHEAD + string.length();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the ID of the given string without interning it.
+     *
+     * @param string the string to look up
+     * @return the ID of the string, or {@link #UNKNOWN} if the string has never been interned
+     */
+    int idOf(String string) {
+        return ids.getOrDefault(string, UNKNOWN);
+    }
+
+    /**
+     * Returns the shared instance of the string with the given ID.
+     *
+     * @param id the ID of the string
+     * @return the string with the given ID
+     */
+    String symbolOf(int id) {
+        return symbols.get(id);
+    }
+
+    /**
+     * Returns the statistics of this symbol table.
+     *
+     * @return the statistics of this symbol table
+     */
+    SymbolStats getStats() {
+        return new SymbolStats(symbols.size(), references, savedBytes);
+    }
+}
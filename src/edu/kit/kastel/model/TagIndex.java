@@ -0,0 +1,54 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An inverted index from interned tags to the visible tasks carrying them.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class TagIndex {
+    private final List<Set<Task>> tasksByTag = new ArrayList<>();
+
+    /**
+     * Adds the given task to the tasks carrying the given tag.
+     *
+     * @param task the task to add
+     * @param tagId the ID of the tag of the task
+     */
+    void add(Task task, int tagId) {
+        while (tasksByTag.size() <= tagId) {
+            tasksByTag.add(new HashSet<>());
+        }
+        tasksByTag.get(tagId).add(task);
+    }
+
+    /**
+     * Removes the given task from the tasks carrying the given tag.
+     *
+     * @param task the task to remove
+     * @param tagId the ID of the tag of the task
+     */
+    void remove(Task task, int tagId) {
+        if (tagId < tasksByTag.size()) {
+            tasksByTag.get(tagId).remove(task);
+        }
+    }
+
+    /**
+     * Returns the visible tasks carrying the given tag.
+     *
+     * @param tagId the ID of the tag to look up
+     * @return the visible tasks carrying the given tag
+     */
+    Set<Task> get(int tagId) {
+        if (tagId < 0 || tagId >= tasksByTag.size()) {
+            return Set.of();
+        }
+        return tasksByTag.get(tagId);
+    }
+}
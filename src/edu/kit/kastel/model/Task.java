@@ -5,27 +5,50 @@
 import edu.kit.kastel.exception.TaskDeletedException;
 
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 
 /**
  * A ask of the procrastinot platform.
+ * Most tasks are untagged leaves in no list, so the collections of a task are only allocated on first insert.
+ * The state, the visibility and the priority are packed into one byte and the due date is kept as an epoch day.
  *
  * @author uyzlh
  * @version 1.0
  */
 public class Task implements Comparable<Task> {
+    private static final int[] NO_TAGS = new int[0];
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int PRIORITY_MASK = 0b11;
+    private static final byte COMPLETED = 1 << 2;
+    private static final byte VISIBLE = 1 << 3;
+    /**
+     * The epoch day of tasks without a due date.
+     */
+    static final int NO_DATE = Integer.MIN_VALUE;
     private final int id;
-    private final String name;
-    private final List<String> taskTags = new ArrayList<>();
-    private final List<Task> subTasks = new ArrayList<>();
-    private List<TaskList> holdingLists = new ArrayList<>();
-    private boolean state;
-    private boolean visible = true;
+    private String name;
+    private int nameId = SymbolTable.UNKNOWN;
+    private int[] tagIds = NO_TAGS;
+    private PriorityBuckets subTasks = null;
+    private NavigableSet<Task> deletedSubTasks = null;
+    private List<TaskList> holdingLists = List.of();
+    private byte flags;
+    private int epochDay;
     private Task parentTask = null;
-    private Priority priority;
-    private LocalDate date;
+    private Procrastinot owner = null;
+    private long sequence;
+    private int visibleSubtasks;
+    private int deletedSubtasks;
+    private int undoneSubtasks;
+    private String renderedLine = null;
    
     /**
      * Instantiates a new Task object with the given state, ID, name, priority, and due date.
@@ -36,11 +59,38 @@ public class Task implements Comparable<Task> {
      * @param date the due date of the task
      */
     public Task(boolean state, int id, String name, Priority priority, LocalDate date) {
-        this.state = state;
         this.id = id;
         this.name = name;
-        this.priority = priority;
-        this.date = date;
+        this.flags = (byte) (priority.ordinal() | VISIBLE | (state ? COMPLETED : 0));
+        this.epochDay = toEpochDay(date);
+    }
+
+    /**
+     * Sets the procrastinot platform this task belongs to, which is notified about changes of this task.
+     *
+     * @param owner the procrastinot platform this task belongs to
+     */
+    void setOwner(Procrastinot owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the sequence number of this task, which orders it among its siblings or, if it has no parent,
+     * among all tasks.
+     *
+     * @return the sequence number of this task
+     */
+    long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Sets the sequence number of this task.
+     *
+     * @param sequence the new sequence number of this task
+     */
+    void setSequence(long sequence) {
+        this.sequence = sequence;
     }
 
     /**
@@ -61,6 +111,25 @@ public String getName() {
         return this.name;
     }
 
+    /**
+     * Replaces the name of this task by its shared instance in the given symbol table.
+     *
+     * @param symbols the symbol table of task names
+     */
+    void internName(SymbolTable symbols) {
+        this.nameId = symbols.intern(this.name);
+        this.name = symbols.symbolOf(this.nameId);
+    }
+
+    /**
+     * Returns the ID of the name of this task in the symbol table of task names.
+     *
+     * @return the ID of the name of this task, or {@link SymbolTable#UNKNOWN} if it has not been interned
+     */
+    int getNameId() {
+        return this.nameId;
+    }
+
     /**
      * Returns the parent task of this task.
      *
@@ -78,21 +147,62 @@ public void removeParent() {
     }
 
     /**
-     * Returns a list of all subtasks of this task.
+     * Returns a list of all subtasks of this task in the order they were added, including deleted ones.
      *
      * @return a list of all subtasks of this task
      */
     public List<Task> getSubTasks() {
+        if (subTasks == null && deletedSubTasks == null) {
+            return new ArrayList<>();
+        }
+        List<Task> tasks = subTasks == null ? new ArrayList<>() : subTasks.inInsertionOrder();
+        if (deletedSubTasks != null && !deletedSubTasks.isEmpty()) {
+            tasks.addAll(deletedSubTasks);
+            tasks.sort(TaskOrder.INSERTION);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns all visible subtasks of this task ordered by priority and then by the order they were added.
+     * The subtasks are stored by priority and deleted subtasks are kept apart, so neither sorting nor
+     * filtering is needed.
+     *
+     * @return all visible subtasks of this task ordered by priority
+     */
+    public Iterable<Task> getSubTasksByPriority() {
+        if (subTasks == null) {
+            return Collections.emptyList();
+        }
         return this.subTasks;
     }
 
+    /**
+     * Returns an iterator over the visible subtasks of this task that follow the given one in priority order.
+     *
+     * @param subTask the visible subtask to start after
+     * @return an iterator over the visible subtasks after the given one
+     */
+    Iterator<Task> getSubTasksAfter(Task subTask) {
+        return subTasks.iteratorAfter(subTask);
+    }
+
     /**
      * Returns the due date of this task.
      *
      * @return the due date of this task
      */
     public LocalDate getDate() {
-        return this.date;
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Returns the due date of this task as an epoch day.
+     *
+     * @return the epoch day of the due date of this task, or {@link #NO_DATE} if it has none
+     */
+    int getEpochDay() {
+        return this.epochDay;
     }
 
     /**
@@ -101,7 +211,7 @@ public LocalDate getDate() {
      * @return the priority of this task
      */
     public Priority getPriority() {
-        return this.priority;
+        return PRIORITIES[flags & PRIORITY_MASK];
     }
 
     /**
@@ -110,7 +220,7 @@ public Priority getPriority() {
      * @return true if this task is visible, false otherwise
      */
     public boolean isVisible() {
-        return this.visible;
+        return (flags & VISIBLE) != 0;
     }
 
     /**
@@ -119,7 +229,7 @@ public boolean isVisible() {
      * @return true if this task is completed, false otherwise
      */
     public boolean isCompleted() {
-        return this.state;
+        return (flags & COMPLETED) != 0;
     }
 
     /**
@@ -128,7 +238,12 @@ public boolean isCompleted() {
      * @param date the new due date of this task
      */
     public void setDate(LocalDate date) {
-        this.date = date;
+        LocalDate oldDate = getDate();
+        this.epochDay = toEpochDay(date);
+        this.renderedLine = null;
+        if (owner != null) {
+            owner.taskDateChanged(this, oldDate);
+        }
     }
 
     /**
@@ -137,7 +252,19 @@ public void setDate(LocalDate date) {
      * @param priority the new priority of this task
      */
     public void setPriority(Priority priority) {
-        this.priority = priority;
+        Priority oldPriority = getPriority();
+        this.flags = (byte) ((flags & ~PRIORITY_MASK) | priority.ordinal());
+        this.renderedLine = null;
+        if (parentTask != null) {
+            if (parentTask.subTasks != null) {
+                parentTask.subTasks.move(this, oldPriority);
+            }
+        } else if (owner != null) {
+            owner.rootPriorityChanged(this, oldPriority);
+        }
+        for (TaskList list : holdingLists) {
+            list.invalidateOrder();
+        }
     }
 
     /**
@@ -157,20 +284,51 @@ public void setParentTask(Task task) {
      */
     @Override
     public int compareTo(Task other) {
-        return this.priority.compareTo(other.priority);
+        return (this.flags & PRIORITY_MASK) - (other.flags & PRIORITY_MASK);
     }
 
     /**
-     * Adds the given tag to the list of tags for this task.
+     * Adds the given tag to the tags of this task. The tag is interned in the given symbol table only once it is
+     * accepted, so rejected tags do not count as references.
      *
-     * @param tag the tag to add to the list of tags for this task
+     * @param symbols the symbol table of tags
+     * @param tag the tag to add to the tags of this task
      * @throws TagAlreadyUsedException if the tag is already used for this task
      */
-    public void addTag(String tag) throws TagAlreadyUsedException {
-        if (taskTags.contains(tag)) {
+    void addTag(SymbolTable symbols, String tag) throws TagAlreadyUsedException {
+        if (hasTag(symbols.idOf(tag))) {
             throw new TagAlreadyUsedException(tag);
         }
-        taskTags.add(tag);
+        int tagId = symbols.intern(tag);
+        tagIds = Arrays.copyOf(tagIds, tagIds.length + 1);
+        tagIds[tagIds.length - 1] = tagId;
+        this.renderedLine = null;
+        if (owner != null) {
+            owner.taskTagged(this, tagId);
+        }
+    }
+
+    /**
+     * Returns the IDs of the tags of this task in the order they were added.
+     *
+     * @return the IDs of the tags of this task
+     */
+    int[] getTagIds() {
+        return this.tagIds;
+    }
+
+    /**
+     * Appends the given task to the list of subtasks of this task.
+     *
+     * @param subTask the task to append to the list of subtasks of this task
+     */
+    public void addSubTask(Task subTask) {
+        if (subTask.isVisible()) {
+            visibleSubTasks().add(subTask);
+        } else {
+            deletedSubTasks().add(subTask);
+        }
+        addToSubtaskCounts(subTask.countVisible(), subTask.countDeleted(), subTask.countUndone());
     }
 
     /**
@@ -179,7 +337,55 @@ public void addTag(String tag) throws TagAlreadyUsedException {
      * @param subTask the task to remove from the list of subtasks of this task
      */
     public void removeSubTask(Task subTask) {
-        this.subTasks.remove(subTask);
+        if (subTasks != null && subTasks.remove(subTask)
+                || deletedSubTasks != null && deletedSubTasks.remove(subTask)) {
+            addToSubtaskCounts(-subTask.countVisible(), -subTask.countDeleted(), -subTask.countUndone());
+        }
+    }
+
+    /**
+     * Adds the given differences to the cached subtask counts of this task and all its ancestors.
+     *
+     * @param visibleDifference the difference of visible subtasks
+     * @param deletedDifference the difference of deleted subtasks
+     * @param undoneDifference the difference of incomplete subtasks
+     */
+    private void addToSubtaskCounts(int visibleDifference, int deletedDifference, int undoneDifference) {
+        for (Task task = this; task != null; task = task.parentTask) {
+            task.visibleSubtasks += visibleDifference;
+            task.deletedSubtasks += deletedDifference;
+            task.undoneSubtasks += undoneDifference;
+        }
+    }
+
+    private int countVisible() {
+        return (isVisible() ? 1 : 0) + this.visibleSubtasks;
+    }
+
+    private int countDeleted() {
+        return (isVisible() ? 0 : 1) + this.deletedSubtasks;
+    }
+
+    private int countUndone() {
+        return (isCompleted() ? 0 : 1) + this.undoneSubtasks;
+    }
+
+    private PriorityBuckets visibleSubTasks() {
+        if (subTasks == null) {
+            subTasks = new PriorityBuckets();
+        }
+        return subTasks;
+    }
+
+    private NavigableSet<Task> deletedSubTasks() {
+        if (deletedSubTasks == null) {
+            deletedSubTasks = new TreeSet<>(TaskOrder.INSERTION);
+        }
+        return deletedSubTasks;
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
     }
 
     /**
@@ -190,36 +396,82 @@ public void removeSubTask(Task subTask) {
      * @throws TaskDeletedException if the task is already deleted
      */
     public void toggle(boolean b, boolean top) throws TaskDeletedException {
-        if (!this.visible && top) {
+        if (!isVisible() && top) {
             throw new TaskDeletedException();
         }
+        Deque<Integer> undoneCounts = new ArrayDeque<>();
+        TaskTraversal.walk(this, new TaskTraversal.Visitor() {
+            @Override
+            public Iterable<Task> enter(Task task, int depth) {
+                undoneCounts.push(task.countUndone());
+                task.flags = (byte) (b ? task.flags | COMPLETED : task.flags & ~COMPLETED);
+                task.renderedLine = null;
+                return task.getSubTasksByPriority();
+            }
 
-        this.state = b;
-        for (Task task : subTasks) {
-            if (task.isVisible()) {
-                task.toggle(b, false);
+            @Override
+            public void exit(Task task, int depth) {
+                int undoneDifference = task.countUndone() - undoneCounts.pop();
+                if (depth > 0) {
+                    task.parentTask.undoneSubtasks += undoneDifference;
+                } else if (top && task.parentTask != null) {
+                    task.parentTask.addToSubtaskCounts(0, 0, undoneDifference);
+                }
             }
-        }
+        });
     }
 
     /**
      * Marks this task as not visible and marks all its subtasks as not visible.
+     * The task is moved to the deleted subtasks of its parent and the visible subtasks of every deleted task are
+     * moved to its deleted subtasks, so deleted tasks stay reachable for restoring without being visited by
+     * queries.
      *
      * @param top whether this task is the top level task for deletion
      * @throws TaskDeletedException if the task is already deleted
      */
     public void delete(boolean top) throws TaskDeletedException {
-        if (!this.visible && top) {
+        if (!isVisible() && top) {
             throw new TaskDeletedException();
         }
-        this.visible = false;
-        for (Task task : subTasks) {
-            task.delete(false);
+        if (top && parentTask != null) {
+            int visibleCount = countVisible();
+            parentTask.addToSubtaskCounts(-visibleCount, visibleCount, 0);
+            parentTask.subTasks.remove(this);
+            parentTask.deletedSubTasks().add(this);
         }
+        TaskTraversal.walk(this, (task, depth) -> task.markDeleted());
+    }
+
+    /**
+     * Marks this task as deleted and moves its visible subtasks to its deleted subtasks.
+     *
+     * @return the subtasks that were visible, which have to be marked as deleted as well
+     */
+    private Iterable<Task> markDeleted() {
+        if (owner != null) {
+            owner.taskDeleted(this);
+        }
+        for (TaskList list : this.holdingLists) {
+            list.removeDeletedTask(this);
+        }
+        this.flags &= ~VISIBLE;
+        this.deletedSubtasks += this.visibleSubtasks;
+        this.visibleSubtasks = 0;
+        PriorityBuckets visibleChildren = subTasks;
+        if (visibleChildren == null) {
+            return Collections.emptyList();
+        }
+        subTasks = null;
+        for (Task task : visibleChildren) {
+            deletedSubTasks().add(task);
+        }
+        return visibleChildren;
     }
 
     /**
      * Marks this task as visible and marks all its subtasks as visible.
+     * Every restored task is moved back from the deleted subtasks of its parent once its own subtasks are restored.
      * Also moves this task to the end of its parent's list of subtasks, if it has a parent.
      * Also adds this task to all the given task lists.
      *
@@ -227,18 +479,54 @@ public void delete(boolean top) throws TaskDeletedException {
      * @throws IllegalRestoreException if the task cannot be restored
      */
     public void restore(boolean top) throws IllegalRestoreException {
-        if (this.visible && top) {
+        if (isVisible() && top) {
             throw new IllegalRestoreException(this.id);
         }
-        this.visible = true;
-        List<Task> copySubtasks = new ArrayList<>(subTasks);
-        for (Task task : copySubtasks) {
-            task.restore(false);
+        if (top && parentTask != null) {
+            int deletedCount = countDeleted();
+            parentTask.addToSubtaskCounts(deletedCount, -deletedCount, 0);
         }
+        TaskTraversal.walk(this, new TaskTraversal.Visitor() {
+            @Override
+            public Iterable<Task> enter(Task task, int depth) {
+                return task.markRestored();
+            }
+
+            @Override
+            public void exit(Task task, int depth) {
+                task.moveToEnd();
+            }
+        });
+    }
+
+    /**
+     * Marks this task as visible.
+     *
+     * @return a copy of the deleted subtasks, which have to be restored as well
+     */
+    private Iterable<Task> markRestored() {
+        if (owner != null) {
+            owner.taskRestored(this);
+        }
+        this.flags |= VISIBLE;
+        this.visibleSubtasks += this.deletedSubtasks;
+        this.deletedSubtasks = 0;
+        if (deletedSubTasks == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(deletedSubTasks);
+    }
+
+    /**
+     * Moves this restored task to the end of the visible subtasks of its parent and of its task lists.
+     */
+    private void moveToEnd() {
         if (parentTask != null) {
-            List<Task> taskList = parentTask.getSubTasks();
-            taskList.remove(this);
-            taskList.add(this);
+            parentTask.deletedSubTasks.remove(this);
+            if (owner != null) {
+                this.sequence = owner.nextSequence();
+            }
+            parentTask.visibleSubTasks().add(this);
         }
         for (TaskList list : this.holdingLists) {
             list.pushTaskToEndOfList(this);
@@ -251,24 +539,29 @@ public void restore(boolean top) throws IllegalRestoreException {
      * @param list the task list to add this task to
      */
     public void addThisToList(TaskList list) {
+        if (holdingLists.isEmpty()) {
+            holdingLists = new ArrayList<>();
+        }
         this.holdingLists.add(list);
     }
 
+    /**
+     * Returns true if this task has been added to the given task list, false otherwise.
+     *
+     * @param list the task list to check
+     * @return true if this task has been added to the given task list, false otherwise
+     */
+    boolean isInList(TaskList list) {
+        return this.holdingLists.contains(list);
+    }
+
     /**
      * Returns the number of deleted subtasks of this task, including all nested subtasks.
      *
      * @return the number of subtasks of this task, including all nested subtasks
      */
     public int getNumberOfDeletedSubtasks() {
-        int i = 0;
-        for (Task task : subTasks) {
-            if (!task.isVisible()) {
-                i += task.getNumberOfDeletedSubtasks() + 1;
-            } else {
-                i += task.getNumberOfDeletedSubtasks();
-            }
-        }
-        return i;
+        return this.deletedSubtasks;
     }
 
     /**
@@ -277,55 +570,22 @@ public int getNumberOfDeletedSubtasks() {
      * @return the number of subtasks of this task, including all nested subtasks
      */
     public int getNumberOfVisibleSubtasks() {
-        int i = 0;
-        for (Task task : subTasks) {
-            if (task.isVisible()) {
-                i += task.getNumberOfVisibleSubtasks() + 1;
-            } else {
-                i += task.getNumberOfVisibleSubtasks();
-            }
-        }
-        return i;
+        return this.visibleSubtasks;
     }
 
     /**
      * Returns a string representation of this task, including its state, name, priority, tags, and due date.
+     * The string is cached until the state, the priority, the tags or the due date of this task change.
      *
      * @return a string representation of this task, including its state, name, priority, tags, and due date
      */
     public String print() {
-        StringBuilder s = new StringBuilder();
-        s.append("- ");
-        if (state) {
-            s.append("[x] ");
-        } else {
-            s.append("[ ] ");
-        }
-        s.append(this.name);
-
-        if (this.priority != Priority.NONE) {
-            s.append(" [" + this.priority.toString() + "]");
-        }
-        if (!taskTags.isEmpty() || date != null) {
-            s.append(":");
-        }
-
-        if (!taskTags.isEmpty()) {
-            s.append(" (");
-            for (String tag : taskTags) {
-                s.append(tag);
-                s.append(", ");
-            }
-            s.deleteCharAt(s.length() - 1);
-            s.deleteCharAt(s.length() - 1);
-            s.append(")");
-        }
-
-        if (date != null) {
-            s.append(" --> " + this.date.toString());
+        if (renderedLine == null) {
+            StringBuilder s = new StringBuilder();
+            TaskRenderer.appendTask(s, this, owner);
+            renderedLine = s.toString();
         }
-
-        return s.toString();
+        return renderedLine;
     }
 
     /**
@@ -335,11 +595,8 @@ public String print() {
      * @return true if this task contains the given task as a subtask, false otherwise
      */
     public boolean contains(Task task) {
-        if (this.subTasks.contains(task)) {
-            return true;
-        }
-        for (Task subTask : subTasks) {
-            if (subTask.contains(task)) {
+        for (Task parent = task.parentTask; parent != null; parent = parent.parentTask) {
+            if (parent == this) {
                 return true;
             }
         }
@@ -347,14 +604,15 @@ public boolean contains(Task task) {
     }
 
     /**
-     * Returns true if this task has the given tag, false otherwise.
+     * Returns true if this task has the given interned tag, false otherwise.
+     * Tasks carry only a handful of tags, so their IDs are scanned instead of keeping a set per task.
      *
-     * @param tag the tag to check for
+     * @param tagId the ID of the tag in the tag symbol table
      * @return true if this task has the given tag, false otherwise
      */
-    public boolean hasTag(String tag) {
-        for (String t : taskTags) {
-            if (Objects.equals(t, tag)) {
+    boolean hasTag(int tagId) {
+        for (int ownTagId : tagIds) {
+            if (ownTagId == tagId) {
                 return true;
             }
         }
@@ -363,18 +621,11 @@ public boolean hasTag(String tag) {
   
     /**
      * Returns true if this task has an undone child task, false otherwise.
+     * Deleted subtasks are included.
      *
      * @return true if this task has an undone child task, false otherwise
      */
     public boolean hasUndoneChild() {
-        for (Task task: subTasks) {
-            if (!task.isCompleted()) {
-                return true;
-            }
-            if (task.hasUndoneChild()) {
-                return true;
-            }
-        }
-        return false;
+        return this.undoneSubtasks > 0;
     }
 }
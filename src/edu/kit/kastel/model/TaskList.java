@@ -4,8 +4,11 @@
 import edu.kit.kastel.exception.TagAlreadyUsedException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A list of tasks of the procrastinot platform.
@@ -15,9 +18,10 @@
  */
 public class TaskList {
 
-    private final List<String> listTags = new ArrayList<>();
-    private final List<Task> list = new ArrayList<>();
+    private int[] listTagIds = new int[0];
+    private final Set<Task> list = new LinkedHashSet<>();
     private final String name;
+    private List<Task> sortedTasks = null;
 
     /**
      * Initialize a new task list with the given name.
@@ -29,20 +33,28 @@ public TaskList(String name) {
     }
 
     /**
-     * Adds the given tag to the list of tags for this task list.
+     * Adds the given tag to the tags of this task list. The tag is interned in the given symbol table only once it
+     * is accepted.
      *
-     * @param tag the tag to add to the list of tags for this task list
+     * @param symbols the symbol table of tags
+     * @param tag the tag to add to the tags of this task list
      * @throws TagAlreadyUsedException if the tag is already used for this task list
      */
-    public void add(String tag) throws TagAlreadyUsedException {
-        if (listTags.contains(tag)) {
-            throw new TagAlreadyUsedException(tag);
+    void add(SymbolTable symbols, String tag) throws TagAlreadyUsedException {
+        int knownId = symbols.idOf(tag);
+        for (int tagId : listTagIds) {
+            if (tagId == knownId) {
+                throw new TagAlreadyUsedException(tag);
+            }
         }
-        listTags.add(tag);
+        listTagIds = Arrays.copyOf(listTagIds, listTagIds.length + 1);
+        listTagIds[listTagIds.length - 1] = symbols.intern(tag);
     }
 
     /**
-     * Assigns the given task to this task list.
+     * Assigns the given task and its subtasks to this task list. Subtasks are assigned before their parents and
+     * subtasks that are already assigned are skipped together with their own subtasks. Only the given task is
+     * checked along its parents, as the ancestors of the subtasks within the subtree are assigned only on exit.
      *
      * @param task the task to assign to this task list
      * @throws IllegalAssignException if the task is already assigned to this task list
@@ -52,26 +64,35 @@ public void assignTaskForList(Task task) throws IllegalAssignException {
         if (hasTask(task)) {
             throw new IllegalAssignException(this.name);
         }
-        task.addThisToList(this);
-        for (Task t: task.getSubTasks()) {
-            try {
-                assignTaskForList(t);
-            } catch (IllegalAssignException e) {
-                //do nothing
+        TaskTraversal.walk(task, new TaskTraversal.Visitor() {
+            @Override
+            public Iterable<Task> enter(Task current, int depth) {
+                if (depth > 0 && current.isInList(TaskList.this)) {
+                    return null;
+                }
+                return current.getSubTasks();
             }
-        }
-        list.add(task);
+
+            @Override
+            public void exit(Task current, int depth) {
+                current.addThisToList(TaskList.this);
+                if (current.isVisible()) {
+                    list.add(current);
+                    sortedTasks = null;
+                }
+            }
+        });
     }
 
     /**
-     * Returns weather this list has given task
+     * Returns weather this list has given task, either directly or as a subtask of one of its tasks.
      *
      * @param task the task to assign to this task list
      * @return true if this list contains the given task as a subtask, false otherwise
      */
     private boolean hasTask(Task task) {
-        for (Task listTask : this.list) {
-            if (listTask.contains(task) || listTask.getId() == task.getId()) {
+        for (Task current = task; current != null; current = current.getParentTask()) {
+            if (current.isInList(this)) {
                 return true;
             }
         }
@@ -88,14 +109,47 @@ public String getListName() {
     }
 
     /**
-     * Returns a copy of the list of tasks in this task list, sorted by priority and due date.
+     * Returns true if the given task is a visible task of this task list, false otherwise.
+     *
+     * @param task the task to check
+     * @return true if the given task is a visible task of this task list, false otherwise
+     */
+    public boolean contains(Task task) {
+        return list.contains(task);
+    }
+
+    /**
+     * Returns the visible tasks in this task list, sorted by priority and then by their position in this task list.
+     * The sorted view is cached until the tasks or their priorities change.
+     *
+     * @return an unmodifiable view of the tasks in this task list, sorted by priority
+     */
+    public List<Task> getSortedTasks() {
+        if (sortedTasks == null) {
+            List<Task> listCopy = new ArrayList<>(list);
+            Collections.sort(listCopy);
+            sortedTasks = Collections.unmodifiableList(listCopy);
+        }
+        return sortedTasks;
+    }
+
+    /**
+     * Discards the cached sorted view after the priority of one of the tasks in this task list has changed.
+     */
+    void invalidateOrder() {
+        sortedTasks = null;
+    }
+
+    /**
+     * Removes the given task, which is being deleted, from the visible tasks of this task list.
+     * It stays assigned and is appended again when it is restored.
      *
-     * @return a copy of the list of tasks in this task list, sorted by priority and due date
+     * @param task the deleted task
      */
-    public List<Task> getListCopy() {
-        List<Task> listCopy = new ArrayList<>(list);
-        Collections.sort(listCopy);
-        return listCopy;
+    void removeDeletedTask(Task task) {
+        if (list.remove(task)) {
+            sortedTasks = null;
+        }
     }
 
     /**
@@ -106,5 +160,6 @@ public List<Task> getListCopy() {
     public void pushTaskToEndOfList(Task task) {
         this.list.remove(task);
         this.list.add(task);
+        sortedTasks = null;
     }
 }
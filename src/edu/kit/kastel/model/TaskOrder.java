@@ -0,0 +1,71 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders tasks by their position in the task forest without traversing it.
+ * Roots are ordered by their position in the default tasks and subtasks by their position in the subtasks of
+ * their parent, both of which are recorded as sequence numbers.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class TaskOrder {
+    /**
+     * Orders tasks of the same level by their insertion position.
+     */
+    static final Comparator<Task> INSERTION = Comparator.comparingLong(Task::getSequence);
+    /**
+     * Orders tasks of the same level by their priority and then by their insertion position, as they are displayed.
+     */
+    static final Comparator<Task> DISPLAY = Comparator.comparing(Task::getPriority).thenComparing(INSERTION);
+
+    private TaskOrder() {
+        throw new UnsupportedOperationException("This class cannot be instantiated!");
+    }
+
+    /**
+     * Sorts the given tasks in pre-order of the task forest, where tasks on the same level are ordered by the given
+     * comparator.
+     *
+     * @param tasks the tasks to sort
+     * @param levelOrder the order of tasks with the same parent
+     */
+    static void sort(List<Task> tasks, Comparator<Task> levelOrder) {
+        List<Task[]> paths = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            paths.add(pathOf(task));
+        }
+        paths.sort((first, second) -> comparePaths(first, second, levelOrder));
+        tasks.clear();
+        for (Task[] path : paths) {
+            tasks.add(path[path.length - 1]);
+        }
+    }
+
+    private static Task[] pathOf(Task task) {
+        int depth = 0;
+        for (Task current = task; current != null; current = current.getParentTask()) {
+            depth++;
+        }
+        Task[] path = new Task[depth];
+        Task current = task;
+        for (int i = depth - 1; i >= 0; i--) {
+            path[i] = current;
+            current = current.getParentTask();
+        }
+        return path;
+    }
+
+    private static int comparePaths(Task[] first, Task[] second, Comparator<Task> levelOrder) {
+        int length = Math.min(first.length, second.length);
+        for (int i = 0; i < length; i++) {
+            if (first[i] != second[i]) {
+                return levelOrder.compare(first[i], second[i]);
+            }
+        }
+        return Integer.compare(first.length, second.length);
+    }
+}
@@ -0,0 +1,116 @@
+package edu.kit.kastel.model;
+
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Renders task lines without per-line allocations.
+ * Every task caches its rendered line until it changes, so printing a task tree only copies the cached lines
+ * after an indentation prefix of spaces. Lines are rendered with precomputed priority fragments and due dates
+ * formatted from their epoch day without creating a date object.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class TaskRenderer {
+    private static final String[] PRIORITY_FRAGMENTS = new String[Priority.values().length];
+    private static final int MIN_FORMATTED_YEAR = 0;
+    private static final int MAX_FORMATTED_YEAR = 9999;
+    private static final int DAYS_FROM_0000_TO_1970 = 719468;
+    private static final int DAYS_PER_ERA = 146097;
+    private char[] spaces = new char[0];
+
+    static {
+        for (Priority priority : Priority.values()) {
+            PRIORITY_FRAGMENTS[priority.ordinal()] = priority == Priority.NONE ? "" : " [" + priority + "]";
+        }
+    }
+
+    /**
+     * Prints the line of the given task, indented by the given number of spaces, to the given writer.
+     *
+     * @param task the task to print
+     * @param indentation the number of spaces to indent the line
+     * @param out the writer to print to
+     */
+    void print(Task task, int indentation, PrintWriter out) {
+        if (spaces.length < indentation) {
+            spaces = new char[Math.max(indentation, spaces.length * 2)];
+            Arrays.fill(spaces, ' ');
+        }
+        out.write(spaces, 0, indentation);
+        out.write(task.print());
+        out.println();
+    }
+
+    /**
+     * Appends the line of the given task, including its state, name, priority, tags, and due date.
+     *
+     * @param target the builder to append to
+     * @param task the task to render
+     * @param owner the procrastinot platform whose tags are rendered, may be null if the task has no tags
+     */
+    static void appendTask(StringBuilder target, Task task, Procrastinot owner) {
+        target.append(task.isCompleted() ? "- [x] " : "- [ ] ");
+        target.append(task.getName());
+        target.append(PRIORITY_FRAGMENTS[task.getPriority().ordinal()]);
+        int[] tagIds = task.getTagIds();
+        int epochDay = task.getEpochDay();
+        if (tagIds.length > 0 || epochDay != Task.NO_DATE) {
+            target.append(':');
+        }
+        if (tagIds.length > 0) {
+            target.append(" (");
+            for (int i = 0; i < tagIds.length; i++) {
+                if (i > 0) {
+                    target.append(", ");
+                }
+                target.append(owner.getTag(tagIds[i]));
+            }
+            target.append(')');
+        }
+        if (epochDay != Task.NO_DATE) {
+            target.append(" --> ");
+            appendDate(target, epochDay);
+        }
+    }
+
+    /**
+     * Appends the given epoch day in ISO format, as {@link LocalDate#toString()} does.
+     * Uses the civil-from-days conversion of the proleptic Gregorian calendar, which needs no date object.
+     *
+     * @param target the builder to append to
+     * @param epochDay the epoch day to format
+     */
+    private static void appendDate(StringBuilder target, int epochDay) {
+        long shifted = (long) epochDay + DAYS_FROM_0000_TO_1970;
+        long era = Math.floorDiv(shifted, DAYS_PER_ERA);
+        long dayOfEra = shifted - era * DAYS_PER_ERA;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < MIN_FORMATTED_YEAR || year > MAX_FORMATTED_YEAR) {
+            target.append(LocalDate.ofEpochDay(epochDay));
+            return;
+        }
+        appendDigits(target, (int) year, 4);
+        target.append('-');
+        appendDigits(target, month, 2);
+        target.append('-');
+        appendDigits(target, day, 2);
+    }
+
+    private static void appendDigits(StringBuilder target, int value, int digits) {
+        int divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            target.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
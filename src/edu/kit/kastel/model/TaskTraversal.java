@@ -0,0 +1,81 @@
+package edu.kit.kastel.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Walks task trees in pre-order on an explicit stack, so arbitrarily deep trees are walked in bounded Java
+ * stack space.
+ * The visitor chooses the children of every task it enters, which lets it prune subtrees and walk live or
+ * deleted subtasks alike, and is called again when all those children have been walked.
+ * Printing, toggling, deleting, restoring and assigning to a list walk subtrees with it. Lookups along the parent
+ * chain are plain loops and subtask counts are cached on the tasks, so no operation of the model recurses.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+final class TaskTraversal {
+
+    private TaskTraversal() {
+        throw new UnsupportedOperationException("This class cannot be instantiated!");
+    }
+
+    /**
+     * Walks the tree below the given task, starting with the task itself at depth zero.
+     * The children returned by the visitor are walked in their iteration order. They are iterated while the walk
+     * goes on, so the visitor has to return a collection the walk of the children does not modify.
+     *
+     * @param root the task to start at
+     * @param visitor the visitor to call for every task
+     */
+    static void walk(Task root, Visitor visitor) {
+        Iterable<Task> rootChildren = visitor.enter(root, 0);
+        if (rootChildren == null) {
+            return;
+        }
+        Deque<Task> tasks = new ArrayDeque<>();
+        Deque<Iterator<Task>> children = new ArrayDeque<>();
+        tasks.push(root);
+        children.push(rootChildren.iterator());
+        while (!tasks.isEmpty()) {
+            Iterator<Task> siblings = children.peek();
+            if (siblings.hasNext()) {
+                Task child = siblings.next();
+                Iterable<Task> grandchildren = visitor.enter(child, tasks.size());
+                if (grandchildren != null) {
+                    tasks.push(child);
+                    children.push(grandchildren.iterator());
+                }
+            } else {
+                children.pop();
+                Task task = tasks.pop();
+                visitor.exit(task, tasks.size());
+            }
+        }
+    }
+
+    /**
+     * A visitor of the tasks of a tree walk.
+     */
+    interface Visitor {
+        /**
+         * Visits the given task before its children.
+         *
+         * @param task the entered task
+         * @param depth the distance of the task to the task the walk started at
+         * @return the children to walk, or null to prune the task so that neither its children nor its exit
+         *         are visited
+         */
+        Iterable<Task> enter(Task task, int depth);
+
+        /**
+         * Visits the given task after its children.
+         *
+         * @param task the exited task
+         * @param depth the distance of the task to the task the walk started at
+         */
+        default void exit(Task task, int depth) {
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package edu.kit.kastel.ui;
 
+import java.io.PrintWriter;
 import java.util.Objects;
 
 /**
@@ -36,6 +37,24 @@ public final String getCommandName() {
         return commandName;
     }
 
+    /**
+     * Returns the writer for the regular output of this command.
+     *
+     * @return the writer for the regular output
+     */
+    protected final PrintWriter out() {
+        return commandHandler.getOutput().out();
+    }
+
+    /**
+     * Returns the writer for the error output of this command.
+     *
+     * @return the writer for the error output
+     */
+    protected final PrintWriter err() {
+        return commandHandler.getOutput().err();
+    }
+
     /**
      * Executes the command with the given arguments.
      *
@@ -14,6 +14,7 @@
 import edu.kit.kastel.ui.commands.ListCommand;
 import edu.kit.kastel.ui.commands.RestoreCommand;
 import edu.kit.kastel.ui.commands.ShowCommand;
+import edu.kit.kastel.ui.commands.SymbolStatsCommand;
 import edu.kit.kastel.ui.commands.TagCommand;
 import edu.kit.kastel.ui.commands.TaggedWithCommand;
 import edu.kit.kastel.ui.commands.TodoCommand;
@@ -43,6 +44,7 @@ public final class CommandHandler {
     private static final String COMMAND_SEPARATOR_REGEX = "\\s+";
     private static final String COMMAND_NOT_FOUND = "ERROR: Command '%s' not found%n";
     private final Procrastinot procrastinot;
+    private final OutputSink output;
     private final Map<String, Command> commands;
     private boolean running = false;
 
@@ -50,15 +52,18 @@ public final class CommandHandler {
      * Instantiates a new command handler.
      *
      * @param procrastinot the procrastinot platform
+     * @param output the sink for the output of all commands
      */
-    public CommandHandler(Procrastinot procrastinot) {
+    public CommandHandler(Procrastinot procrastinot, OutputSink output) {
         this.procrastinot = Objects.requireNonNull(procrastinot);
+        this.output = Objects.requireNonNull(output);
         this.commands = new HashMap<>();
         this.initCommands();
     }
 
     /**
-     * Handles the user input.
+     * Handles the user input. The output is written after each command, or after each batch of commands if the
+     * output sink batches them, and once more when the input ends.
      */
     public void handleUserInput() {
         this.running = true;
@@ -67,10 +72,22 @@ public void handleUserInput() {
             while (running && scanner.hasNextLine()) {
                 //
                 executeCommand(scanner.nextLine());
+                output.commandFinished();
             }
+        } finally {
+            output.flush();
         }
     }
 
+    /**
+     * Returns the sink for the output of all commands.
+     *
+     * @return the output sink
+     */
+    OutputSink getOutput() {
+        return output;
+    }
+
     /**
      * Quits the user input handling.
      */
@@ -84,7 +101,7 @@ private void executeCommand(String commandWithArguments) {
         String[] commandArguments = Arrays.copyOfRange(splittedCommand, 1, splittedCommand.length);
 
         if (!commands.containsKey(commandName)) {
-            System.err.printf(COMMAND_NOT_FOUND, commandName);
+            output.err().printf(COMMAND_NOT_FOUND, commandName);
             return;
         }
 
@@ -111,6 +128,7 @@ private void initCommands() {
         this.addCommand(new BeforeCommand(this, procrastinot));
         this.addCommand(new DuplicatesCommand(this, procrastinot));
         this.addCommand(new TaggedWithCommand(this, procrastinot));
+        this.addCommand(new SymbolStatsCommand(this, procrastinot));
     }
 
     private void addCommand(Command command) {
@@ -0,0 +1,146 @@
+package edu.kit.kastel.ui;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Collects the regular and the error output of the commands in one buffer and writes it to the underlying streams
+ * in large chunks, instead of one write per printed line.
+ * Both outputs share the buffer, so their relative order is kept: whenever the output switches between regular
+ * and error output, the pending text of the other stream is written first. The buffer is written when it grows
+ * beyond its limit and when the command handler reports that enough commands have finished.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+public final class OutputSink {
+    private static final int BUFFER_LIMIT = 1 << 16;
+    private final PrintStream outStream;
+    private final PrintStream errStream;
+    private final PrintWriter out;
+    private final PrintWriter err;
+    private final int commandsPerFlush;
+    private final StringBuilder pending = new StringBuilder(BUFFER_LIMIT);
+    private PrintStream pendingTarget;
+    private int commandsSinceFlush;
+
+    /**
+     * Instantiates a new output sink that writes its output after every command.
+     *
+     * @param outStream the stream for the regular output
+     * @param errStream the stream for the error output
+     */
+    public OutputSink(PrintStream outStream, PrintStream errStream) {
+        this(outStream, errStream, 1);
+    }
+
+    /**
+     * Instantiates a new output sink that writes its output after the given number of commands.
+     *
+     * @param outStream the stream for the regular output
+     * @param errStream the stream for the error output
+     * @param commandsPerFlush the number of commands whose output is written at once
+     */
+    public OutputSink(PrintStream outStream, PrintStream errStream, int commandsPerFlush) {
+        this.outStream = outStream;
+        this.errStream = errStream;
+        this.commandsPerFlush = commandsPerFlush;
+        this.out = new PrintWriter(new TargetWriter(outStream));
+        this.err = new PrintWriter(new TargetWriter(errStream));
+    }
+
+    /**
+     * Returns the writer for the regular output.
+     *
+     * @return the writer for the regular output
+     */
+    public PrintWriter out() {
+        return out;
+    }
+
+    /**
+     * Returns the writer for the error output.
+     *
+     * @return the writer for the error output
+     */
+    public PrintWriter err() {
+        return err;
+    }
+
+    /**
+     * Records that a command has finished and writes the pending output if enough commands have finished.
+     */
+    void commandFinished() {
+        commandsSinceFlush++;
+        if (commandsSinceFlush >= commandsPerFlush) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all pending output to the underlying streams.
+     */
+    void flush() {
+        commandsSinceFlush = 0;
+        drain();
+        outStream.flush();
+        errStream.flush();
+    }
+
+    private void buffer(PrintStream target, char[] chars, int offset, int length) {
+        prepare(target, length);
+        pending.append(chars, offset, length);
+    }
+
+    private void buffer(PrintStream target, String string, int offset, int length) {
+        prepare(target, length);
+        pending.append(string, offset, offset + length);
+    }
+
+    private void prepare(PrintStream target, int length) {
+        if (target != pendingTarget || pending.length() + length > BUFFER_LIMIT) {
+            drain();
+            pendingTarget = target;
+        }
+    }
+
+    private void drain() {
+        if (pending.length() > 0) {
+            pendingTarget.append(pending);
+            pendingTarget.flush();
+            pending.setLength(0);
+        }
+    }
+
+    /**
+     * A writer appending to the shared buffer on behalf of one of the underlying streams.
+     */
+    private final class TargetWriter extends Writer {
+        private final PrintStream target;
+
+        TargetWriter(PrintStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer(target, chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            buffer(target, string, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            // the sink decides when the buffer is written
+        }
+
+        @Override
+        public void close() {
+            // the underlying streams are not owned by the sink
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package edu.kit.kastel.ui;
 
+import edu.kit.kastel.model.Page;
 import edu.kit.kastel.model.Procrastinot;
 import java.util.Objects;
 
@@ -70,10 +71,20 @@ public abstract class ProcrastinotCommand extends Command {
      * Error message if task is already deleted
      */
     protected static final String SHOW_DELETED_ERROR = createError("Given task is deleted.");
+    /**
+     * Error message if the page arguments are invalid
+     */
+    protected static final String INVALID_PAGE_ERROR = createError("Given limit or cursor is invalid.");
     /**
      * The output if nothing was found
      */
     protected static final String NO_OUTPUT = "";
+    private static final String LIMIT_PREFIX = "limit=";
+    private static final String CURSOR_PREFIX = "cursor=";
+    private static final String CURSOR_SEPARATOR = ":";
+    private static final String LIMIT_REGEX = "^limit=[1-9]\\d{0,8}$";
+    private static final String CURSOR_REGEX = "^cursor=\\d{1,9}:\\d{1,9}$";
+    private static final String NEXT_PAGE_FORMAT = "More results: " + CURSOR_PREFIX + "%d:%d%n";
     private static final String EXPECTED_INNER_ARGUMENTS_ERROR_FORMAT 
             = createError("Expected %d arguments but got %d%n");
     private static final String ERROR_PREFIX = "ERROR: ";
@@ -109,12 +120,67 @@ public final void execute(String[] commandArguments) {
      */
     protected boolean compareArgsLength(int argsLength, int expectedLength) {
         if (argsLength != expectedLength) {
-            System.err.printf(EXPECTED_INNER_ARGUMENTS_ERROR_FORMAT, expectedLength, argsLength);
+            err().printf(EXPECTED_INNER_ARGUMENTS_ERROR_FORMAT, expectedLength, argsLength);
             return false;
         }
         return true;
     }
 
+    /**
+     * Parses the optional page arguments following the expected number of arguments and prints an error message
+     * if the arguments do not match. The page arguments are {@value #LIMIT_PREFIX} followed by the maximum number
+     * of lines and {@value #CURSOR_PREFIX} followed by the cursor printed with the previous page, which is the ID
+     * of the top level result to continue at and the line within it.
+     *
+     * @param args the arguments of the command
+     * @param expectedLength the expected number of arguments before the page arguments
+     * @return the requested page, or null if the arguments are invalid
+     */
+    protected Page parsePage(String[] args, int expectedLength) {
+        int pageArguments = 0;
+        while (pageArguments < args.length - expectedLength && isPageArgument(args[args.length - 1 - pageArguments])) {
+            pageArguments++;
+        }
+        if (!compareArgsLength(args.length - pageArguments, expectedLength)) {
+            return null;
+        }
+        int limit = Page.ALL.getLimit();
+        int taskId = 0;
+        int line = 0;
+        boolean hasLimit = false;
+        boolean hasCursor = false;
+        for (int i = expectedLength; i < args.length; i++) {
+            if (args[i].matches(LIMIT_REGEX) && !hasLimit) {
+                limit = Integer.parseInt(args[i].substring(LIMIT_PREFIX.length()));
+                hasLimit = true;
+            } else if (args[i].matches(CURSOR_REGEX) && !hasCursor) {
+                String[] cursor = args[i].substring(CURSOR_PREFIX.length()).split(CURSOR_SEPARATOR);
+                taskId = Integer.parseInt(cursor[0]);
+                line = Integer.parseInt(cursor[1]);
+                hasCursor = true;
+            } else {
+                err().println(INVALID_PAGE_ERROR);
+                return null;
+            }
+        }
+        return hasCursor ? new Page(taskId, line, limit) : new Page(limit);
+    }
+
+    /**
+     * Prints the cursor of the given next page, if there is one.
+     *
+     * @param next the next page, or null if the last page has been printed
+     */
+    protected void printNextPage(Page next) {
+        if (next != null) {
+            out().printf(NEXT_PAGE_FORMAT, next.getTaskId(), next.getLine());
+        }
+    }
+
+    private static boolean isPageArgument(String argument) {
+        return argument.startsWith(LIMIT_PREFIX) || argument.startsWith(CURSOR_PREFIX);
+    }
+
     /**
      * Executes the command on the car sharing platform.
      * 
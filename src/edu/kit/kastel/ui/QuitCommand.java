@@ -23,7 +23,7 @@ final class QuitCommand extends Command {
     @Override
     public void execute(String[] commandArguments) {
         if (commandArguments.length != 0) {
-            System.err.println(QUIT_WITH_ARGUMENTS_ERROR);
+            err().println(QUIT_WITH_ARGUMENTS_ERROR);
             return;
         }
         commandHandler.quit();
@@ -37,45 +37,44 @@ public AddCommand(CommandHandler commandHandler, Procrastinot procrastinot) {
     protected void executeProcrastinotCommand(String[] args) {
 
         if ((args.length < MIN_LENGTH) || (args.length > MAX_LENGTH)) {
-            System.err.println(INVALID_ARGUMENTS_ERROR);
+            err().println(INVALID_ARGUMENTS_ERROR);
             return;
         }
         if (!args[NAME_INDEX].matches(NAME_REGEX)) {
-            System.err.println(INVALID_TASK_NAME_ERROR);
+            err().println(INVALID_TASK_NAME_ERROR);
             return;
         }
 
         String name = args[NAME_INDEX];
-        int id = procrastinot.getDefaultTasks().size() + 1;
-        Task task = new Task(false, id, name, Priority.NONE, null);
+        int id = procrastinot.getNumberOfTasks() + 1;
+        Priority priority = Priority.NONE;
+        LocalDate date = null;
         boolean hasPriority = false;
         for (int i = PRIORITY_INDEX; i < args.length; i++) {
             if (args[i].matches(PRIORITY_REGEX) && !hasPriority) {
-                Priority priority = Priority.fromString(args[i]);
-                task.setPriority(priority);
+                priority = Priority.fromString(args[i]);
                 hasPriority = true;
                 continue;
             } else if (args[i].matches(DATE_REGEX)) {
-                LocalDate localDate;
                 try {
-                    localDate = LocalDate.parse(args[i]);
+                    date = LocalDate.parse(args[i]);
                 } catch (DateTimeParseException e) {
-                    System.err.println(INVALID_DATE_ERROR);
+                    err().println(INVALID_DATE_ERROR);
                     return;
                 }
-                task.setDate(localDate);
             } else {
-                System.err.println(INVALID_ARGUMENTS_ERROR);
+                err().println(INVALID_ARGUMENTS_ERROR);
                 return;
             }
         }
 
         if ((args.length > PRIORITY_INDEX) && (args[PRIORITY_INDEX].matches(DATE_REGEX)) && (args.length == MAX_LENGTH)) {
-            System.err.println(INVALID_ARGUMENTS_ERROR);
+            err().println(INVALID_ARGUMENTS_ERROR);
             return;
         }
 
-        procrastinot.getDefaultTasks().add(task);
-        System.out.printf(TASK_SUCCESS_FORMAT, id, name);
+        Task task = new Task(false, id, name, priority, date);
+        procrastinot.addTask(task);
+        out().printf(TASK_SUCCESS_FORMAT, id, name);
     }
 }
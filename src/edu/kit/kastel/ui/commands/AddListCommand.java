@@ -37,7 +37,7 @@ protected void executeProcrastinotCommand(String[] args) {
             return;
         }
         if (!args[LIST_NAME_INDEX].matches(LIST_NAME_REGEX)) {
-            System.err.println(INVALID_LIST_ERROR);
+            err().println(INVALID_LIST_ERROR);
             return;
         }
 
@@ -45,11 +45,11 @@ protected void executeProcrastinotCommand(String[] args) {
         try {
             procrastinot.addList(list);
         } catch (IllegalAddListException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
             return;
         }
 
         String listName = args[LIST_NAME_INDEX];
-        System.out.printf(TASK_SUCCESS_FORMAT, listName);
+        out().printf(TASK_SUCCESS_FORMAT, listName);
     }
 }
@@ -50,7 +50,7 @@ protected void executeProcrastinotCommand(String[] args) {
                 subtask = procrastinot.getTask(subTaskId);
                 subTaskName = subtask.getName();
             } catch (TaskNotFoundException e) {
-                System.err.println(createError(e.getMessage()));
+                err().println(createError(e.getMessage()));
                 return;
             }
 
@@ -64,11 +64,11 @@ protected void executeProcrastinotCommand(String[] args) {
                     procrastinot.assignTaskForTask(subTaskId, parentTaskId);
                     parentTaskName = parentTask.getName();
                 } catch (TaskNotFoundException | IllegalAssignException | TaskDeletedException e) {
-                    System.err.println(createError(e.getMessage()));
+                    err().println(createError(e.getMessage()));
                     return;
                 }
 
-                System.out.printf(TASK_SUCCESS_FORMAT, subTaskName, parentTaskName);
+                out().printf(TASK_SUCCESS_FORMAT, subTaskName, parentTaskName);
                 return;
             }
             //list
@@ -79,18 +79,18 @@ protected void executeProcrastinotCommand(String[] args) {
                     parentList = procrastinot.getTaskListByName(args[PARENT_LIST_OR_TASK_INDEX]);
                     parentList.assignTaskForList(subtask);
                 } catch (ListNotFoundException | IllegalAssignException e) {
-                    System.err.println(createError(e.getMessage()));
+                    err().println(createError(e.getMessage()));
                     return;
                 }
 
-                System.out.printf(TASK_SUCCESS_FORMAT, subTaskName, listName);
+                out().printf(TASK_SUCCESS_FORMAT, subTaskName, listName);
                 return;
             }
 
-            System.out.println(INVALID_ARGUMENTS_ERROR);
+            out().println(INVALID_ARGUMENTS_ERROR);
             return;
         }
 
-        System.out.println(INVALID_ARGUMENTS_ERROR);
+        out().println(INVALID_ARGUMENTS_ERROR);
     }
 }
@@ -1,6 +1,8 @@
 package edu.kit.kastel.ui.commands;
 
+import edu.kit.kastel.exception.InvalidCursorException;
 import edu.kit.kastel.exception.NoTaskFoundException;
+import edu.kit.kastel.model.Page;
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.ui.ProcrastinotCommand;
 import edu.kit.kastel.ui.CommandHandler;
@@ -32,12 +34,12 @@ public BeforeCommand(CommandHandler commandHandler, Procrastinot procrastinot) {
     @Override
     protected void executeProcrastinotCommand(String[] args) {
 
-        int argsLength = args.length;
-        if (!compareArgsLength(argsLength, EXPECTED_ARGUMENTS_LENGTH)) {
+        Page page = parsePage(args, EXPECTED_ARGUMENTS_LENGTH);
+        if (page == null) {
             return;
         }
         if (!args[DATE_INDEX].matches(DATE_REGEX)) {
-            System.err.println(INVALID_DATE_ERROR);
+            err().println(INVALID_DATE_ERROR);
             return;
         }
         
@@ -45,13 +47,15 @@ protected void executeProcrastinotCommand(String[] args) {
         try {
             localDate = LocalDate.parse(args[DATE_INDEX]);
         } catch (DateTimeParseException e) {
-            System.err.println(INVALID_DATE_ERROR);
+            err().println(INVALID_DATE_ERROR);
             return;
         }
         try {
-            procrastinot.printTasksBefore(localDate);
+            printNextPage(procrastinot.printTasksBefore(localDate, page));
         } catch (NoTaskFoundException e) {
-            System.out.println(NO_OUTPUT);
+            out().println(NO_OUTPUT);
+        } catch (InvalidCursorException e) {
+            err().println(createError(e.getMessage()));
         }
     }
 }
@@ -1,6 +1,8 @@
 package edu.kit.kastel.ui.commands;
 
+import edu.kit.kastel.exception.InvalidCursorException;
 import edu.kit.kastel.exception.NoTaskFoundException;
+import edu.kit.kastel.model.Page;
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.ui.ProcrastinotCommand;
 import edu.kit.kastel.ui.CommandHandler;
@@ -33,12 +35,12 @@ public BetweenCommand(CommandHandler commandHandler, Procrastinot procrastinot)
     @Override
     protected void executeProcrastinotCommand(String[] args) {
 
-        int argsLength = args.length;
-        if (!compareArgsLength(argsLength, EXPECTED_ARGUMENTS_LENGTH)) {
+        Page page = parsePage(args, EXPECTED_ARGUMENTS_LENGTH);
+        if (page == null) {
             return;
         }
         if (!args[DATE01_INDEX].matches(DATE_REGEX) || !args[DATE02_INDEX].matches(DATE_REGEX)) {
-            System.err.println(INVALID_DATE_ERROR);
+            err().println(INVALID_DATE_ERROR);
             return;
         }
         
@@ -48,13 +50,15 @@ protected void executeProcrastinotCommand(String[] args) {
             localDate01 = LocalDate.parse(args[DATE01_INDEX]);
             localDate02 = LocalDate.parse(args[DATE02_INDEX]);
         } catch (DateTimeParseException e) {
-            System.err.println(INVALID_DATE_ERROR);
+            err().println(INVALID_DATE_ERROR);
             return;
         }
         try {
-            procrastinot.printTasksBetween(localDate01, localDate02);
+            printNextPage(procrastinot.printTasksBetween(localDate01, localDate02, page));
         } catch (NoTaskFoundException e) {
-            System.out.println(NO_OUTPUT);
+            out().println(NO_OUTPUT);
+        } catch (InvalidCursorException e) {
+            err().println(createError(e.getMessage()));
         }
     }
 }
@@ -40,11 +40,11 @@ protected void executeProcrastinotCommand(String[] args) {
             return;
         }
         if (!args[ID_INDEX].matches(ID_REGEX)) {
-            System.err.println(INVALID_ID_ERROR);
+            err().println(INVALID_ID_ERROR);
             return;
         }
         if (!args[DATE_INDEX].matches(DATE_REGEX)) {
-            System.err.println(INVALID_DATE_ERROR);
+            err().println(INVALID_DATE_ERROR);
             return;
         }
 
@@ -52,7 +52,7 @@ protected void executeProcrastinotCommand(String[] args) {
         try {
             localDate = LocalDate.parse(args[DATE_INDEX]);
         } catch (DateTimeParseException e) {
-            System.err.println(INVALID_DATE_ERROR);
+            err().println(INVALID_DATE_ERROR);
             return;
         }
 
@@ -61,13 +61,13 @@ protected void executeProcrastinotCommand(String[] args) {
         try {
             task = procrastinot.getTask(id);
         } catch (TaskNotFoundException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
             return;
         }
 
         String name = task.getName();
         task.setDate(localDate);
-        System.out.printf(TASK_SUCCESS_FORMAT, name, localDate);
+        out().printf(TASK_SUCCESS_FORMAT, name, localDate);
     }
 
 }
@@ -37,16 +37,16 @@ protected void executeProcrastinotCommand(String[] args) {
 
         int argsLength = args.length;
         if ((argsLength < MIN_LENGTH) || (argsLength > MAX_LENGTH)) {
-            System.err.println(INVALID_ARGUMENTS_ERROR);
+            err().println(INVALID_ARGUMENTS_ERROR);
             return;
         }
         if (!args[ID_INDEX].matches(ID_REGEX)) {
-            System.err.println(INVALID_ID_ERROR);
+            err().println(INVALID_ID_ERROR);
             return;
         }
         int id = Integer.parseInt(args[ID_INDEX]);
         if (argsLength != MIN_LENGTH && !args[PRIORITY_INDEX].matches(PRIORITY_REGEX)) {
-            System.err.println(INVALID_PRIORITY_ERROR);
+            err().println(INVALID_PRIORITY_ERROR);
             return;
         }
 
@@ -54,7 +54,7 @@ protected void executeProcrastinotCommand(String[] args) {
         try {
             task = procrastinot.getTask(id);
         } catch (TaskNotFoundException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
             return;
         }
 
@@ -67,6 +67,6 @@ protected void executeProcrastinotCommand(String[] args) {
             priority = Priority.valueOf(args[PRIORITY_INDEX]);
             task.setPriority(priority);
         }
-        System.out.printf(TASK_SUCCESS_FORMAT, name, priority);
+        out().printf(TASK_SUCCESS_FORMAT, name, priority);
     }
 }
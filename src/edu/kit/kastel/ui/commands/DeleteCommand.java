@@ -38,7 +38,7 @@ protected void executeProcrastinotCommand(String[] args) {
             return;
         }
         if (!args[ID_INDEX].matches(ID_REGEX)) {
-            System.err.println(INVALID_ID_ERROR);
+            err().println(INVALID_ID_ERROR);
             return;
         }
 
@@ -47,25 +47,19 @@ protected void executeProcrastinotCommand(String[] args) {
         try {
             task = procrastinot.getTask(id);
         } catch (TaskNotFoundException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
             return;
         }
 
         int numberOfSubtasks = task.getNumberOfVisibleSubtasks();
-        try {
-            task = procrastinot.getTask(id);
-        } catch (TaskNotFoundException e) {
-            System.err.println(createError(e.getMessage()));
-            return;
-        }
         try {
             task.delete(true);
         } catch (TaskDeletedException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
             return;
         }
 
         String name = task.getName();
-        System.out.printf(TASK_SUCCESS_FORMAT, name, numberOfSubtasks);
+        out().printf(TASK_SUCCESS_FORMAT, name, numberOfSubtasks);
     }
 }
@@ -4,9 +4,6 @@
 import edu.kit.kastel.ui.ProcrastinotCommand;
 import edu.kit.kastel.ui.CommandHandler;
 
-import java.util.Collections;
-import java.util.List;
-
 /**
  * Exception thrown when a list with a given name is not found.
  *
@@ -37,20 +34,17 @@ protected void executeProcrastinotCommand(String[] args) {
             return;
         }
 
-        List<Integer> result = procrastinot.getDuplicates();
-        Collections.sort(result);
-        int numberOfDuplicates = result.size();
+        int[] result = procrastinot.getDuplicates();
+        int numberOfDuplicates = result.length;
         StringBuilder s = new StringBuilder();
-        for (int value : result) {
-            s.append(value);
-            s.append(", ");
+        for (int i = 0; i < numberOfDuplicates; i++) {
+            if (i > 0) {
+                s.append(", ");
+            }
+            s.append(result[i]);
         }
 
-        if (numberOfDuplicates > 0) {
-            s.delete(s.length() - 2, s.length());
-        }
-        
         String id = s.toString();
-        System.out.printf(TASK_SUCCESS_FORMAT, numberOfDuplicates, id);
+        out().printf(TASK_SUCCESS_FORMAT, numberOfDuplicates, id);
     }
 }
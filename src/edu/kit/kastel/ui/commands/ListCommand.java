@@ -36,17 +36,17 @@ protected void executeProcrastinotCommand(String[] args) {
             return;
         }
         if (!args[LIST_NAME_INDEX].matches(LIST_NAME_REGEX)) {
-            System.err.println(INVALID_LIST_ERROR);
+            err().println(INVALID_LIST_ERROR);
             return;
         }
 
         String list = args[LIST_NAME_INDEX];
         try {
             if (!procrastinot.printList(list)) {
-                System.out.println(NO_OUTPUT);
+                out().println(NO_OUTPUT);
             }
         } catch (ListNotFoundException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
         }
     }
 }
@@ -39,7 +39,7 @@ protected void executeProcrastinotCommand(String[] args) {
             return;
         }
         if (!args[ID_INDEX].matches(ID_REGEX)) {
-            System.err.println(INVALID_ID_ERROR);
+            err().println(INVALID_ID_ERROR);
             return;
         }
 
@@ -48,27 +48,19 @@ protected void executeProcrastinotCommand(String[] args) {
         try {
             task = procrastinot.getTask(id);
         } catch (TaskNotFoundException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
             return;
         }
 
         int numberOfSubtasks = task.getNumberOfDeletedSubtasks();
         try {
-            task = procrastinot.getTask(id);
-            if ((task.getParentTask() != null) && !task.getParentTask().isVisible()) {
-                Task parent = task.getParentTask();
-                task.removeParent();
-                parent.removeSubTask(task);
-            }
-            procrastinot.getDefaultTasks().remove(task);
-            procrastinot.getDefaultTasks().add(task);
-            task.restore(true);
-        } catch (TaskNotFoundException | IllegalRestoreException e) {
-            System.err.println(createError(e.getMessage()));
+            procrastinot.restoreTask(task);
+        } catch (IllegalRestoreException e) {
+            err().println(createError(e.getMessage()));
             return;
         }
         
         String name = task.getName();
-        System.out.printf(TASK_SUCCESS_FORMAT, name, numberOfSubtasks);
+        out().printf(TASK_SUCCESS_FORMAT, name, numberOfSubtasks);
     }
 }
@@ -36,7 +36,7 @@ protected void executeProcrastinotCommand(String[] args) {
             return;
         }
         if (!args[ID_INDEX].matches(ID_REGEX)) {
-            System.err.println(INVALID_ID_ERROR);
+            err().println(INVALID_ID_ERROR);
             return;
         }
 
@@ -45,11 +45,11 @@ protected void executeProcrastinotCommand(String[] args) {
         try {
             task = procrastinot.getTask(id);
         } catch (TaskNotFoundException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
             return;
         }
         if (!task.isVisible()) {
-            System.err.println(createError(ERROR_MESSAGE.formatted(id)));
+            err().println(createError(ERROR_MESSAGE.formatted(id)));
             return;
         }
         procrastinot.printTask(task, 0);
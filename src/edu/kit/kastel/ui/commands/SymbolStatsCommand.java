@@ -0,0 +1,40 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.model.Procrastinot;
+import edu.kit.kastel.model.SymbolStats;
+import edu.kit.kastel.ui.ProcrastinotCommand;
+import edu.kit.kastel.ui.CommandHandler;
+
+/**
+ * Command to show how many task names and tags are shared and the memory saved by sharing them.
+ *
+ * @author uyzlh
+ * @version 1.0
+ */
+public class SymbolStatsCommand extends ProcrastinotCommand {
+
+    private static final String COMMAND_NAME = "symbol-stats";
+    private static final int EXPECTED_ARGUMENTS_LENGTH = 0;
+    private static final String STATS_FORMAT = "Interned %d names and tags as %d symbols, saving about %d bytes%n";
+
+    /**
+     * Instantiates a new symbol statistics command.
+     *
+     * @param commandHandler the command handler
+     * @param procrastinot   the procrastinot platform
+     */
+    public SymbolStatsCommand(CommandHandler commandHandler, Procrastinot procrastinot) {
+        super(COMMAND_NAME, commandHandler, procrastinot);
+    }
+
+    @Override
+    protected void executeProcrastinotCommand(String[] args) {
+
+        if (!compareArgsLength(args.length, EXPECTED_ARGUMENTS_LENGTH)) {
+            return;
+        }
+
+        SymbolStats stats = procrastinot.getSymbolStats();
+        out().printf(STATS_FORMAT, stats.references(), stats.symbols(), stats.savedBytes());
+    }
+}
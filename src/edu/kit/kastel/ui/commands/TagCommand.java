@@ -40,7 +40,7 @@ protected void executeProcrastinotCommand(String[] args) {
         if (args[TAG_INDEX].matches(TAG_REGEX)) {
             String tag = args[TAG_INDEX];
             if (!(args[ID_OR_LIST_INDEX].matches(ID_REGEX) || args[ID_OR_LIST_INDEX].matches(LIST_NAME_REGEX))) {
-                System.err.println(INVALID_ARGUMENTS_ERROR);
+                err().println(INVALID_ARGUMENTS_ERROR);
                 return;
             }
             if (args[ID_OR_LIST_INDEX].matches(ID_REGEX)) {
@@ -50,10 +50,10 @@ protected void executeProcrastinotCommand(String[] args) {
                     taskName = procrastinot.getTask(taskId).getName();
                     procrastinot.addTag(taskId, tag);
                 } catch (TaskNotFoundException | TagAlreadyUsedException e) {
-                    System.err.println(createError(e.getMessage()));
+                    err().println(createError(e.getMessage()));
                     return;
                 }
-                System.out.printf(TAG_SUCCESS_FORMAT, taskName, tag);
+                out().printf(TAG_SUCCESS_FORMAT, taskName, tag);
                 return;
             }
 
@@ -61,13 +61,13 @@ protected void executeProcrastinotCommand(String[] args) {
             try {
                 procrastinot.addListTag(list, tag);
             } catch (ListNotFoundException | TagAlreadyUsedException e) {
-                System.err.println(createError(e.getMessage()));
+                err().println(createError(e.getMessage()));
                 return;
             }
 
-            System.out.printf(TAG_SUCCESS_FORMAT, list, tag);
+            out().printf(TAG_SUCCESS_FORMAT, list, tag);
             return;
         }
-        System.err.println(INVALID_ARGUMENTS_ERROR);
+        err().println(INVALID_ARGUMENTS_ERROR);
     }
 }
@@ -1,12 +1,13 @@
 package edu.kit.kastel.ui.commands;
 
+import edu.kit.kastel.exception.InvalidCursorException;
 import edu.kit.kastel.exception.NoTaskFoundException;
+import edu.kit.kastel.model.Page;
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.model.Task;
 import edu.kit.kastel.ui.ProcrastinotCommand;
 import edu.kit.kastel.ui.CommandHandler;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -36,26 +37,25 @@ public TaggedWithCommand(CommandHandler commandHandler, Procrastinot procrastino
     @Override
     protected void executeProcrastinotCommand(String[] args) {
 
-        int argsLength = args.length;
-        if (!compareArgsLength(argsLength, EXPECTED_ARGUMENTS_LENGTH)) {
+        Page page = parsePage(args, EXPECTED_ARGUMENTS_LENGTH);
+        if (page == null) {
             return;
         }
         if (!args[TAG_INDEX].matches(TAG_REGEX)) {
-            System.err.println(INVALID_TAG_ERROR);
+            err().println(INVALID_TAG_ERROR);
             return;
         }
         
         String tag = args[TAG_INDEX];
-        List<Task> list = procrastinot.getDefaultTasks().stream().filter((task) -> task.getParentTask() == null).toList();
-        List<Task> result = new ArrayList<>();
+        List<Task> result;
         try {
-            result = procrastinot.getTasksWithTag(tag, list, true);
+            result = procrastinot.getTasksWithTag(tag);
         } catch (NoTaskFoundException e) {
-            System.out.println(NO_OUTPUT);
+            out().println(NO_OUTPUT);
             return;
         }
         if (result.isEmpty()) {
-            System.out.println(NO_OUTPUT);
+            out().println(NO_OUTPUT);
             return;
         }
 
@@ -74,8 +74,10 @@ public int compare(Task task1, Task task2) {
             }
         };
         result.sort(taskComparator);
-        for (Task t : result) {
-            procrastinot.printTask(t, 0);
+        try {
+            printNextPage(procrastinot.printTasks(result, page));
+        } catch (InvalidCursorException e) {
+            err().println(createError(e.getMessage()));
         }
     }
 }
@@ -1,6 +1,8 @@
 package edu.kit.kastel.ui.commands;
 
+import edu.kit.kastel.exception.InvalidCursorException;
 import edu.kit.kastel.exception.NoTaskFoundException;
+import edu.kit.kastel.model.Page;
 import edu.kit.kastel.model.Procrastinot;
 import edu.kit.kastel.ui.ProcrastinotCommand;
 import edu.kit.kastel.ui.CommandHandler;
@@ -29,15 +31,17 @@ public TodoCommand(CommandHandler commandHandler, Procrastinot procrastinot) {
     @Override
     protected void executeProcrastinotCommand(String[] args) {
 
-        int argsLength = args.length;
-        if (!compareArgsLength(argsLength, EXPECTED_ARGUMENTS_LENGTH)) {
+        Page page = parsePage(args, EXPECTED_ARGUMENTS_LENGTH);
+        if (page == null) {
             return;
         }
         
         try {
-            procrastinot.printTodoTasks();
+            printNextPage(procrastinot.printTodoTasks(page));
         } catch (NoTaskFoundException e) {
-            System.out.println(NO_OUTPUT);
+            out().println(NO_OUTPUT);
+        } catch (InvalidCursorException e) {
+            err().println(createError(e.getMessage()));
         }
     }
 }
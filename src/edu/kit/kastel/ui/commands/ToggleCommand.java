@@ -39,7 +39,7 @@ protected void executeProcrastinotCommand(String[] args) {
             return;
         }
         if (!args[ID_INDEX].matches(ID_REGEX)) {
-            System.err.println(INVALID_ID_ERROR);
+            err().println(INVALID_ID_ERROR);
             return;
         }
 
@@ -49,12 +49,12 @@ protected void executeProcrastinotCommand(String[] args) {
             task = procrastinot.getTask(id);
             task.toggle(!task.isCompleted(), true);
         } catch (TaskNotFoundException | TaskDeletedException e) {
-            System.err.println(createError(e.getMessage()));
+            err().println(createError(e.getMessage()));
             return;
         }
         
         String name = task.getName();
         int numberOfSubtasks = task.getNumberOfVisibleSubtasks();
-        System.out.printf(TASK_SUCCESS_FORMAT, name, numberOfSubtasks);
+        out().printf(TASK_SUCCESS_FORMAT, name, numberOfSubtasks);
     }
 }